@@ -0,0 +1,78 @@
+package com.yooiistudios.serialanimator.benchmark;
+
+import android.view.View;
+
+import com.yooiistudios.serialanimator.animator.SerialVirtualAnimator;
+import com.yooiistudios.serialanimator.property.ViewProperty;
+import com.yooiistudios.serialanimator.scheduler.VirtualTimeEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SequenceBenchmark
+ *  VirtualTimeEngine 위에서 animate() 부터 시퀀스 종료/취소까지 한 사이클의 비용을 잰다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SequenceBenchmark {
+    private static final long[] DURATIONS = { 100, 200, 100 };
+    private static final long INTERVAL = 30;
+
+    @Param({"100", "1000", "10000"})
+    public int itemCount;
+
+    private VirtualTimeEngine mEngine;
+    private SerialVirtualAnimator mAnimator;
+    private long mHalfSequenceDuration;
+
+    @Setup
+    public void setUp() {
+        mEngine = new VirtualTimeEngine();
+        mAnimator = new SerialVirtualAnimator(mEngine);
+        SerialVirtualAnimator.VirtualTransitionProperty transitionProperty =
+                new SerialVirtualAnimator.VirtualTransitionProperty(DURATIONS, 0, INTERVAL);
+        transitionProperty.setTransitionCacheSize(itemCount);
+        mAnimator.setTransitionProperty(transitionProperty);
+
+        for (int key = 0; key < itemCount; key++) {
+            ViewProperty property = new ViewProperty.Builder()
+                    .setView(new View(null))
+                    .setViewIndex(key)
+                    .build();
+            mAnimator.putViewPropertyIfRoom(property, key);
+        }
+        mHalfSequenceDuration = transitionProperty.getTimeline().getSequenceDuration(itemCount) / 2;
+    }
+
+    @Benchmark
+    public long animateToEnd() {
+        mAnimator.animate();
+        mEngine.runUntilIdle();
+        return mEngine.getDispatchCount();
+    }
+
+    @Benchmark
+    public long animateAndCancel() {
+        mAnimator.animate();
+        mEngine.advanceBy(mHalfSequenceDuration);
+        mAnimator.cancelAllTransitions();
+        return mEngine.getDispatchCount();
+    }
+
+    @Benchmark
+    public long animateAndCancelImmediately() {
+        mAnimator.animate();
+        mAnimator.cancelAndResetAllTransitions();
+        return mEngine.getDispatchCount();
+    }
+}
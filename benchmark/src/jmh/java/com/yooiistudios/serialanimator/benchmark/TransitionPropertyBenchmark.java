@@ -0,0 +1,88 @@
+package com.yooiistudios.serialanimator.benchmark;
+
+import com.yooiistudios.serialanimator.animator.SerialVirtualAnimator;
+import com.yooiistudios.serialanimator.property.ViewProperty;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransitionPropertyBenchmark
+ *  트랜지션이 많을 때 딜레이 계산과 진행중인 트랜지션 index 조회 비용을 잰다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransitionPropertyBenchmark {
+    private static final long TRANSITION_DURATION = 30;
+    private static final int KEY_COUNT = 1000;
+
+    @Param({"1", "10", "100", "1000"})
+    public int transitionCount;
+
+    private BenchmarkTransitionProperty mTransitionProperty;
+    private ViewProperty mViewProperty;
+    private long mSequenceDuration;
+    private int mKey;
+    private int mTransitionIndex;
+    private long mTimePast;
+
+    @Setup
+    public void setUp() {
+        long[] durations = new long[transitionCount];
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = TRANSITION_DURATION;
+        }
+        mTransitionProperty = new BenchmarkTransitionProperty(durations);
+        mViewProperty = new ViewProperty.Builder().setViewIndex(KEY_COUNT / 2).build();
+        mSequenceDuration = mTransitionProperty.getTimeline().getSequenceDuration(KEY_COUNT);
+    }
+
+    @Benchmark
+    public long getDelay() {
+        mKey = (mKey + 1) % KEY_COUNT;
+        mTransitionIndex = (mTransitionIndex + 1) % transitionCount;
+        return mTransitionProperty.delayOf(mKey, mTransitionIndex);
+    }
+
+    @Benchmark
+    public int getTransitionIndex() {
+        mTimePast = (mTimePast + 7) % mSequenceDuration;
+        return mTransitionProperty.getTransitionIndexForProperty(mViewProperty, mTimePast);
+    }
+
+    @Benchmark
+    public long getCurrentPlayTime() {
+        mTimePast = (mTimePast + 7) % mSequenceDuration;
+        int index = mTransitionProperty.getTransitionIndexForProperty(mViewProperty, mTimePast);
+        return mTransitionProperty.getCurrentPlayTime(mViewProperty, index, mTimePast);
+    }
+
+    /**
+     * 트랜지션 리스트가 바뀌었을 때 타임라인을 다시 만드는 비용
+     */
+    @Benchmark
+    public long rebuildTimeline() {
+        mTransitionProperty.invalidateTimeline();
+        return mTransitionProperty.getTimeline().getTotalDuration();
+    }
+
+    private static class BenchmarkTransitionProperty
+            extends SerialVirtualAnimator.VirtualTransitionProperty {
+        public BenchmarkTransitionProperty(long[] durations) {
+            super(durations, 0, TRANSITION_DURATION / 2);
+        }
+
+        public long delayOf(int key, int transitionIndex) {
+            return getDelay(key, transitionIndex);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.yooiistudios.serialanimator.benchmark;
+
+import android.view.View;
+
+import com.yooiistudios.serialanimator.animator.SerialVirtualAnimator;
+import com.yooiistudios.serialanimator.property.ViewProperty;
+import com.yooiistudios.serialanimator.scheduler.VirtualTimeEngine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransitionStepBenchmark
+ *  뷰 하나가 트랜지션 한 스텝을 끝내고 다음 스텝을 요청하는 경로(requestNextTransition) 의 비용을 잰다.
+ *  한 번의 호출은 애니메이션 종료 + 다음 트랜지션 시작을 한 번씩 처리한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransitionStepBenchmark {
+    private static final int TRANSITION_COUNT = 1000;
+    private static final long TRANSITION_DURATION = 1;
+
+    private VirtualTimeEngine mEngine;
+    private SerialVirtualAnimator mAnimator;
+
+    @Setup
+    public void setUp() {
+        long[] durations = new long[TRANSITION_COUNT];
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = TRANSITION_DURATION;
+        }
+        mEngine = new VirtualTimeEngine();
+        mAnimator = new SerialVirtualAnimator(mEngine);
+        mAnimator.setTransitionProperty(
+                new SerialVirtualAnimator.VirtualTransitionProperty(durations, 0, 0));
+
+        ViewProperty property = new ViewProperty.Builder()
+                .setView(new View(null))
+                .setViewIndex(0)
+                .build();
+        mAnimator.putViewPropertyIfRoom(property, 0);
+    }
+
+    @Benchmark
+    public long step() {
+        if (mEngine.isIdle()) {
+            // 시퀀스가 끝나면 다시 시작한다. TRANSITION_COUNT 스텝에 한 번만 일어난다.
+            mAnimator.animate();
+        }
+        mEngine.advanceBy(TRANSITION_DURATION);
+        return mEngine.getDispatchCount();
+    }
+}
@@ -0,0 +1,104 @@
+package com.yooiistudios.serialanimator.benchmark;
+
+import android.view.View;
+
+import com.yooiistudios.serialanimator.property.ViewProperties;
+import com.yooiistudios.serialanimator.property.ViewProperty;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ViewPropertiesBenchmark
+ *  어댑터뷰가 스크롤될 때처럼 뷰가 재사용되는 상황에서 ViewProperties 의 put/조회/삭제 비용을 잰다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ViewPropertiesBenchmark {
+    // 화면에 동시에 붙어 있는 뷰의 수
+    private static final int VISIBLE_VIEW_COUNT = 16;
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ViewProperties mViewProperties;
+    private View[] mViews;
+    // mViews[i] 가 지금 등록되어 있는 key
+    private int[] mViewKeys;
+    private int mRecycleIndex;
+    private int mNextKey;
+    private int mLookupKey;
+
+    @Setup
+    public void setUp() {
+        mViewProperties = new ViewProperties();
+        mViews = new View[VISIBLE_VIEW_COUNT];
+        mViewKeys = new int[VISIBLE_VIEW_COUNT];
+        for (int i = 0; i < mViews.length; i++) {
+            mViews[i] = new View(null);
+            mViewKeys[i] = i;
+        }
+        for (int key = 0; key < size; key++) {
+            // 화면 밖으로 나간 key 는 뷰 없이 남아 있는 경우를 흉내낸다.
+            View view = key < VISIBLE_VIEW_COUNT ? mViews[key] : null;
+            mViewProperties.putViewPropertyByKey(key, makeViewProperty(view, key));
+        }
+        mRecycleIndex = 0;
+        mNextKey = size;
+    }
+
+    private static ViewProperty makeViewProperty(View view, int key) {
+        return new ViewProperty.Builder()
+                .setView(view)
+                .setViewIndex(key)
+                .build();
+    }
+
+    @Benchmark
+    public ViewProperty getByKey() {
+        mLookupKey = (mLookupKey + 1) % size;
+        return mViewProperties.getViewPropertyByKey(mLookupKey);
+    }
+
+    @Benchmark
+    public ViewProperty getByView() {
+        mLookupKey = (mLookupKey + 1) % VISIBLE_VIEW_COUNT;
+        return mViewProperties.getViewPropertyByView(mViews[mLookupKey]);
+    }
+
+    @Benchmark
+    public void iterateByIndex(Blackhole blackhole) {
+        int count = mViewProperties.size();
+        for (int i = 0; i < count; i++) {
+            blackhole.consume(mViewProperties.getViewPropertyByIndex(i));
+        }
+    }
+
+    /**
+     * 맨 위 아이템의 뷰가 맨 아래 아이템으로 재사용되는 스크롤 한 칸.
+     * 뷰를 들고 있던 key 를 지우고 새 key 에 붙이므로 등록된 ViewProperty 의 수는 size 로 유지된다.
+     */
+    @Benchmark
+    public ViewProperty recycleChurn() {
+        int recycledKey = mViewKeys[mRecycleIndex];
+        int newKey = mNextKey++;
+        View recycledView = mViews[mRecycleIndex];
+
+        mViewProperties.removeViewPropertyByKey(recycledKey);
+        mViewProperties.putViewPropertyByKey(newKey, makeViewProperty(recycledView, newKey));
+        mViewKeys[mRecycleIndex] = newKey;
+        mRecycleIndex = (mRecycleIndex + 1) % VISIBLE_VIEW_COUNT;
+
+        return mViewProperties.getViewPropertyByIndex(0);
+    }
+}
@@ -0,0 +1,7 @@
+package android.content;
+
+/**
+ * 벤치마크용 최소 구현. 뷰 생성에만 쓰인다.
+ */
+public class Context {
+}
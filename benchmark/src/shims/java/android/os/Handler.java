@@ -0,0 +1,19 @@
+package android.os;
+
+/**
+ * 벤치마크용 최소 구현. 벤치마크에는 Looper 가 없으므로 메시지를 보내려고 하면 실패한다.
+ */
+public class Handler {
+    public void handleMessage(Message message) {
+    }
+
+    public final boolean sendMessageDelayed(Message message, long delayMillis) {
+        throw new UnsupportedOperationException("No Looper in benchmark. Use VirtualTimeEngine.");
+    }
+
+    public final void removeMessages(int what) {
+    }
+
+    public final void removeCallbacksAndMessages(Object token) {
+    }
+}
@@ -0,0 +1,15 @@
+package android.os;
+
+/**
+ * 벤치마크용 최소 구현. 벤치마크는 VirtualTimeEngine 을 쓰므로 실제로 전달되지 않는다.
+ */
+public final class Message {
+    public int what;
+    public int arg1;
+    public int arg2;
+    public Object obj;
+
+    public static Message obtain() {
+        return new Message();
+    }
+}
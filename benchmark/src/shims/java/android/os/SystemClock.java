@@ -0,0 +1,13 @@
+package android.os;
+
+/**
+ * 벤치마크용 최소 구현.
+ */
+public final class SystemClock {
+    private SystemClock() {
+    }
+
+    public static long uptimeMillis() {
+        return System.nanoTime() / 1000000L;
+    }
+}
@@ -0,0 +1,16 @@
+package android.support.v4.view;
+
+import android.view.View;
+
+/**
+ * 벤치마크용 최소 구현.
+ */
+public class ViewCompat {
+    public static void setHasTransientState(View view, boolean hasTransientState) {
+        view.setHasTransientState(hasTransientState);
+    }
+
+    public static boolean hasTransientState(View view) {
+        return view.hasTransientState();
+    }
+}
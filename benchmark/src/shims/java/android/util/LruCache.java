@@ -0,0 +1,49 @@
+package android.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 벤치마크용 최소 구현. 접근 순서를 유지하는 LinkedHashMap 으로 항목 수 기준 LRU 를 흉내낸다.
+ */
+public class LruCache<K, V> {
+    private final LinkedHashMap<K, V> mMap;
+    private final int mMaxSize;
+
+    public LruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+        mMaxSize = maxSize;
+        mMap = new LinkedHashMap<K, V>(0, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > mMaxSize;
+            }
+        };
+    }
+
+    public final V get(K key) {
+        return mMap.get(key);
+    }
+
+    public final V put(K key, V value) {
+        return mMap.put(key, value);
+    }
+
+    public final V remove(K key) {
+        return mMap.remove(key);
+    }
+
+    public final void evictAll() {
+        mMap.clear();
+    }
+
+    public final int size() {
+        return mMap.size();
+    }
+
+    public final int maxSize() {
+        return mMaxSize;
+    }
+}
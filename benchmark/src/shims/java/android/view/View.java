@@ -0,0 +1,44 @@
+package android.view;
+
+import android.content.Context;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 벤치마크용 최소 구현. 라이브러리는 뷰를 identity 로만 다루므로
+ * equals/hashCode 를 재정의하지 않고 transient state 만 들고 있는다.
+ */
+public class View {
+    private final Context mContext;
+    private int mTransientStateCount;
+    private Map<Integer, Object> mKeyedTags;
+
+    public View(Context context) {
+        mContext = context;
+    }
+
+    public Context getContext() {
+        return mContext;
+    }
+
+    public void setHasTransientState(boolean hasTransientState) {
+        mTransientStateCount = hasTransientState
+                ? mTransientStateCount + 1 : Math.max(0, mTransientStateCount - 1);
+    }
+
+    public boolean hasTransientState() {
+        return mTransientStateCount > 0;
+    }
+
+    public Object getTag(int key) {
+        return mKeyedTags != null ? mKeyedTags.get(key) : null;
+    }
+
+    public void setTag(int key, Object tag) {
+        if (mKeyedTags == null) {
+            mKeyedTags = new HashMap<>();
+        }
+        mKeyedTags.put(key, tag);
+    }
+}
@@ -0,0 +1,10 @@
+package com.yooiistudios.serialanimator;
+
+/**
+ * 벤치마크용 리소스 id. aapt 가 만드는 R 대신 쓴다.
+ */
+public final class R {
+    public static final class id {
+        public static final int serial_animator_transition_cache = 0x7f010001;
+    }
+}
@@ -25,6 +25,10 @@ public class ViewTransientUtils {
     }
 
     public static void setState(View view) {
+        // 약한 참조 모드에서는 이미 수거된 뷰일 수 있다.
+        if (view == null) {
+            return;
+        }
         ViewCompat.setHasTransientState(view, true);
     }
 
@@ -33,6 +37,9 @@ public class ViewTransientUtils {
     }
 
     public static void clearState(View view) {
+        if (view == null) {
+            return;
+        }
         ViewCompat.setHasTransientState(view, false);
     }
 }
@@ -0,0 +1,168 @@
+package com.yooiistudios.serialanimator.animator;
+
+import com.yooiistudios.serialanimator.scheduler.MasterClock;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * ClockedTransitions
+ *  MasterClock 하나로 진행중인 트랜지션들을 매 프레임 평가하는 엔진.
+ *  뷰마다 애니메이터를 start 하지 않고 slot 별로 트랜지션이 시작된 시간만 기록해 두었다가,
+ *  매 프레임 play time 을 계산해 Backend 가 뷰에 반영하도록 한다.
+ *  SerialMasterClockAnimator 와 SerialSpecAnimator 가 함께 쓴다.
+ */
+final class ClockedTransitions<L extends SerialAnimator.TransitionListener> {
+    interface Backend<L> {
+        /**
+         * slot 의 트랜지션을 playTime 만큼 진행된 상태로 뷰에 반영한다.
+         */
+        public void applyAt(int slot, L listener, long playTime);
+
+        /**
+         * slot 의 트랜지션이 끝나거나 취소되어 비활성화된 뒤 불린다. 종료 콜백을 불러줘야 한다.
+         */
+        public void onTransitionEnd(int slot, L listener);
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NOT_ACTIVE = -1;
+
+    private final MasterClock mMasterClock;
+    private final Backend<L> mBackend;
+
+    // slot 으로 접근하는 진행중인 트랜지션 정보
+    private SerialAnimator.TransitionListener[] mListeners =
+            new SerialAnimator.TransitionListener[INITIAL_CAPACITY];
+    private long[] mTransitionStartTimes = new long[INITIAL_CAPACITY];
+    private long[] mDurations = new long[INITIAL_CAPACITY];
+    private int[] mActivePositions = newActivePositions(INITIAL_CAPACITY);
+
+    // 매 프레임 평가할 slot 들을 빈틈 없이 모아 둔 배열
+    private int[] mActiveSlots = new int[INITIAL_CAPACITY];
+    private int mActiveCount;
+
+    ClockedTransitions(Backend<L> backend) {
+        mBackend = backend;
+        mMasterClock = new MasterClock();
+        mMasterClock.setFrameCallback(new FrameDispatcher(this));
+    }
+
+    private static int[] newActivePositions(int capacity) {
+        int[] positions = new int[capacity];
+        Arrays.fill(positions, NOT_ACTIVE);
+        return positions;
+    }
+
+    public MasterClock getMasterClock() {
+        return mMasterClock;
+    }
+
+    /**
+     * slot 의 트랜지션을 transitionStartTime 에 시작한 것으로 두고 다음 프레임부터 평가한다.
+     */
+    public void activate(int slot, L listener, long transitionStartTime, long duration) {
+        ensureCapacity(slot + 1);
+        if (!isActive(slot)) {
+            mActivePositions[slot] = mActiveCount;
+            mActiveSlots[mActiveCount++] = slot;
+        }
+        mListeners[slot] = listener;
+        mTransitionStartTimes[slot] = transitionStartTime;
+        mDurations[slot] = duration;
+        mMasterClock.notifyTransitionActivated();
+    }
+
+    /**
+     * 진행중인 slot 의 트랜지션을 멈추고 ValueAnimator.cancel 과 같이 종료 콜백을 불러준다.
+     */
+    public void cancel(int slot, boolean ignoreCallback) {
+        if (isActive(slot)) {
+            L listener = deactivate(slot);
+            listener.setIgnoreCallback(ignoreCallback);
+            mBackend.onTransitionEnd(slot, listener);
+        }
+    }
+
+    /**
+     * 콜백 없이 slot 을 평가 대상에서 뺀다.
+     */
+    public void release(int slot) {
+        if (isActive(slot)) {
+            deactivate(slot);
+        }
+    }
+
+    public boolean isActive(int slot) {
+        return slot < mActivePositions.length && mActivePositions[slot] != NOT_ACTIVE;
+    }
+
+    /**
+     * 진행중인 모든 트랜지션을 frameTime 기준으로 평가하고 끝난 트랜지션의 콜백을 불러준다.
+     * @return 평가 후에도 진행중인 트랜지션이 남아 있을 경우 true
+     */
+    private boolean onFrame(long frameTimeInMilli) {
+        // 콜백 안에서 트랜지션이 추가/제거될 수 있으므로 뒤에서부터 돌며 매번 범위를 확인한다.
+        for (int i = mActiveCount - 1; i >= 0; i--) {
+            if (i >= mActiveCount) {
+                continue;
+            }
+            int slot = mActiveSlots[i];
+            @SuppressWarnings("unchecked")
+            L listener = (L) mListeners[slot];
+            long duration = mDurations[slot];
+            long playTime = frameTimeInMilli - mTransitionStartTimes[slot];
+
+            if (playTime >= duration) {
+                mBackend.applyAt(slot, listener, duration);
+                deactivate(slot);
+                mBackend.onTransitionEnd(slot, listener);
+            } else {
+                mBackend.applyAt(slot, listener, Math.max(0, playTime));
+            }
+        }
+
+        return mActiveCount > 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private L deactivate(int slot) {
+        int position = mActivePositions[slot];
+        int lastSlot = mActiveSlots[--mActiveCount];
+        mActiveSlots[position] = lastSlot;
+        mActivePositions[lastSlot] = position;
+        mActivePositions[slot] = NOT_ACTIVE;
+
+        L listener = (L) mListeners[slot];
+        mListeners[slot] = null;
+        return listener;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > mListeners.length) {
+            int oldCapacity = mListeners.length;
+            int newCapacity = Math.max(capacity, oldCapacity * 2);
+            mListeners = Arrays.copyOf(mListeners, newCapacity);
+            mTransitionStartTimes = Arrays.copyOf(mTransitionStartTimes, newCapacity);
+            mDurations = Arrays.copyOf(mDurations, newCapacity);
+            mActivePositions = Arrays.copyOf(mActivePositions, newCapacity);
+            Arrays.fill(mActivePositions, oldCapacity, newCapacity, NOT_ACTIVE);
+            mActiveSlots = Arrays.copyOf(mActiveSlots, newCapacity);
+        }
+    }
+
+    private static class FrameDispatcher implements MasterClock.FrameCallback {
+        private WeakReference<ClockedTransitions<?>> mTransitionsWeakReference;
+
+        public FrameDispatcher(ClockedTransitions<?> transitions) {
+            mTransitionsWeakReference = new WeakReference<ClockedTransitions<?>>(transitions);
+        }
+
+        @Override
+        public boolean onFrame(long frameTimeInMilli) {
+            ClockedTransitions<?> transitions = mTransitionsWeakReference.get();
+
+            return transitions != null && transitions.onFrame(frameTimeInMilli);
+        }
+    }
+}
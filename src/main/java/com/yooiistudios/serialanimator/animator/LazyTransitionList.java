@@ -0,0 +1,39 @@
+package com.yooiistudios.serialanimator.animator;
+
+import android.view.View;
+
+import java.util.AbstractList;
+
+/**
+ * LazyTransitionList
+ *  TransitionStepSupplier 로부터 index 번째 트랜지션을 처음 꺼낼 때 만들어 두는 리스트.
+ *  한 번 만든 트랜지션은 다시 만들지 않는다.
+ */
+final class LazyTransitionList<T> extends AbstractList<T> {
+    private final SerialAnimator.TransitionProperty.TransitionStepSupplier<T> mStepSupplier;
+    private final View mTargetView;
+    private final Object[] mTransitions;
+
+    LazyTransitionList(SerialAnimator.TransitionProperty.TransitionStepSupplier<T> stepSupplier,
+                       View targetView, int size) {
+        mStepSupplier = stepSupplier;
+        mTargetView = targetView;
+        mTransitions = new Object[size];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        Object transition = mTransitions[index];
+        if (transition == null) {
+            transition = mStepSupplier.onSupplyTransition(mTargetView, index);
+            mTransitions[index] = transition;
+        }
+        return (T) transition;
+    }
+
+    @Override
+    public int size() {
+        return mTransitions.length;
+    }
+}
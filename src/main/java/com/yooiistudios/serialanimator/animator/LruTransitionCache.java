@@ -0,0 +1,44 @@
+package com.yooiistudios.serialanimator.animator;
+
+import android.util.LruCache;
+import android.view.View;
+
+import java.util.List;
+
+/**
+ * LruTransitionCache
+ *  최근에 사용된 뷰의 트랜지션 리스트를 정해진 개수만큼 들고 있는 기본 캐시.
+ */
+class LruTransitionCache<T> implements TransitionCache<T> {
+    public static final int DEFAULT_MAX_SIZE = 32;
+
+    private final LruCache<View, List<T>> mCache;
+
+    public LruTransitionCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public LruTransitionCache(int maxSize) {
+        mCache = new LruCache<>(maxSize);
+    }
+
+    @Override
+    public List<T> get(View view) {
+        return mCache.get(view);
+    }
+
+    @Override
+    public void put(View view, List<T> transitions) {
+        mCache.put(view, transitions);
+    }
+
+    @Override
+    public void evict(View view) {
+        mCache.remove(view);
+    }
+
+    @Override
+    public void evictAll() {
+        mCache.evictAll();
+    }
+}
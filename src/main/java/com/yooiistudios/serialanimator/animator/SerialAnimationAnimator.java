@@ -3,11 +3,11 @@ package com.yooiistudios.serialanimator.animator;
 import android.support.annotation.NonNull;
 import android.view.View;
 import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
 
-import com.yooiistudios.serialanimator.AnimationListenerImpl;
-import com.yooiistudios.serialanimator.ViewTransientUtils;
 import com.yooiistudios.serialanimator.property.ViewProperty;
 
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -19,19 +19,30 @@ import java.util.List;
  */
 public class SerialAnimationAnimator extends SerialAnimator<SerialAnimationAnimator.AnimationProperty,
         SerialAnimationAnimator.AnimationTransitionListener> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    // slot 별로 진행중인 트랜지션의 리스너
+    private AnimationTransitionListener[] mListeners = new AnimationTransitionListener[INITIAL_CAPACITY];
 
     @Override
     protected void onTransit(ViewProperty property, AnimationTransitionListener transitionListener) {
-        List<Animation> animations = getTransitionProperty().getTransitions(property.getView());
-        Animation animation = animations.get(property.getTransitionInfo().index);
+        int slot = property.getSlot();
+        if (slot >= mListeners.length) {
+            mListeners = Arrays.copyOf(mListeners, Math.max(slot + 1, mListeners.length * 2));
+        }
+        mListeners[slot] = transitionListener;
+
+        List<Animation> animations = getTransitionProperty().getCachedTransitions(property.getView());
+        Animation animation = animations.get(getTransitionStates().getTransitionIndex(slot));
+        transitionListener.setAnimation(animation);
         animation.setAnimationListener(transitionListener);
 
-        startAnimation(property, animation);
+        startAnimation(property, animation, getTransitionStates().getCurrentPlayTime(slot));
     }
 
     @Override
     protected void transitItemOnFlyAt(int index) {
-
+        joinSequenceOnFlyAt(index);
     }
 
 //    @Override
@@ -48,52 +59,124 @@ public class SerialAnimationAnimator extends SerialAnimator<SerialAnimationAnima
 
     @Override
     protected void onCancelTransitionByViewProperty(ViewProperty viewProperty) {
-        viewProperty.getView().clearAnimation();
+        int slot = viewProperty.getSlot();
+        AnimationTransitionListener listener = slot < mListeners.length ? mListeners[slot] : null;
+        if (listener != null) {
+            mListeners[slot] = null;
+            listener.setIgnoreCallback(getTransitionStates().isIgnoringPreviousCallback(slot));
+        }
+        getTransitionStates().setIgnorePreviousCallback(slot, false);
+        clearAnimation(viewProperty);
     }
 
-    private void startAnimation(ViewProperty property, Animation animation) {
-//        animation.setAnimationListener(makeTransitionListener(property));
-        View viewToAnimate = property.getView();
-        viewToAnimate.startAnimation(animation);
+    @Override
+    protected void onResetViewState(ViewProperty viewProperty) {
+        // 끝난 뒤에도 fillAfter 로 남아 있는 애니메이션을 치운다.
+        clearAnimation(viewProperty);
+    }
+
+    private void clearAnimation(ViewProperty viewProperty) {
+        // 애니메이션이 없는 뷰는 clearAnimation 이 invalidate 만 하므로 건너뛴다.
+        View view = viewProperty.getView();
+        if (view != null && view.getAnimation() != null) {
+            view.clearAnimation();
+        }
     }
 
     @Override
-    protected AnimationTransitionListener makeTransitionListener(ViewProperty property) {
-//        AnimationTransitionListener listener = new AnimationTransitionListener(property);
-        // FIXME 아래 라인 copy & paste 임. super 로 빼야 할듯
-//        listener.setIsLastTransition(isLastTransition(property));
+    protected void onReleaseViewProperty(ViewProperty viewProperty) {
+        int slot = viewProperty.getSlot();
+        if (slot < mListeners.length) {
+            mListeners[slot] = null;
+        }
+    }
 
-        return new AnimationTransitionListener(property);
+    @Override
+    protected void onApplyFinishedState(ViewProperty viewProperty) {
+        // Animation 은 뷰의 속성을 바꾸지 않으므로 마지막 애니메이션이 fillAfter 일 때만 끝난 상태를 그려준다.
+        List<Animation> animations = getTransitionProperty().getCachedTransitions(viewProperty.getView());
+        Animation lastAnimation = animations.get(animations.size() - 1);
+        if (lastAnimation.getFillAfter()) {
+            lastAnimation.setAnimationListener(null);
+            startAnimation(viewProperty, lastAnimation, lastAnimation.getDuration());
+        }
     }
 
-    protected static class AnimationTransitionListener extends AnimationListenerImpl
-            implements SerialAnimator.TransitionListener {
+    /**
+     * Animation 은 한 지점에 멈춰 둘 수 없으므로 seek 한 지점에서 시작한 것으로 두고 이어서 재생한다.
+     * 종료 콜백은 불리지 않는다.
+     */
+    @Override
+    protected void onSeekTransition(ViewProperty viewProperty, int transitionIndex, long playTime) {
+        if (transitionIndex == 0 && playTime == 0) {
+            clearAnimation(viewProperty);
+            return;
+        }
+        List<Animation> animations = getTransitionProperty().getCachedTransitions(viewProperty.getView());
+        Animation animation = animations.get(transitionIndex);
+        animation.setAnimationListener(null);
+        startAnimation(viewProperty, animation, playTime);
+    }
 
-        private ViewProperty mViewProperty;
+    /**
+     * playTime 이 있을 경우 그만큼 앞선 시간에 시작한 것으로 두어 진행중인 시퀀스의 해당 지점부터 그려지도록 한다.
+     */
+    private void startAnimation(ViewProperty property, Animation animation, long playTime) {
+        View viewToAnimate = property.getView();
+        if (playTime > 0) {
+            animation.setStartTime(AnimationUtils.currentAnimationTimeMillis() - playTime);
+            viewToAnimate.setAnimation(animation);
+            viewToAnimate.invalidate();
+        } else {
+            viewToAnimate.startAnimation(animation);
+        }
+    }
+
+    @Override
+    protected AnimationTransitionListener makeTransitionListener(ViewProperty property) {
+        return new AnimationTransitionListener(getTransitionStates());
+    }
 
-        public AnimationTransitionListener(ViewProperty viewProperty) {
-            mViewProperty = viewProperty;
+    protected static class AnimationTransitionListener extends SerialAnimator.TransitionListener
+            implements Animation.AnimationListener {
+        // 지금 스텝의 애니메이션. 이전 스텝의 애니메이션에서 늦게 온 종료 이벤트를 거르기 위해 쓴다.
+        private Animation mAnimation;
+
+        public AnimationTransitionListener(TransitionStates transitionStates) {
+            super(transitionStates);
         }
 
-        public ViewProperty getViewProperty() {
-            return mViewProperty;
+        @Override
+        protected void onRebind() {
+            mAnimation = null;
         }
 
+        /**
+         * 스텝을 예약할 때마다 transient state 를 걸기 때문에 스텝이 끝날 때마다 하나씩 푼다.
+         */
         @Override
-        public final void onAnimationEnd(Animation animation) {
-            notifyOnAnimationEnd();
+        protected boolean isClearingTransientStateOnEnd() {
+            return true;
         }
 
-        private void notifyOnAnimationEnd() {
-            ViewTransientUtils.clearState(getViewProperty());
+        public void setAnimation(Animation animation) {
+            mAnimation = animation;
+        }
 
-            ViewProperty.AnimationListener callback =
-                    getViewProperty().getAnimationListener();
+        @Override
+        public void onAnimationStart(Animation animation) {
+        }
 
-            if (callback != null) {
-                callback.onAnimationEnd(getViewProperty());
+        @Override
+        public final void onAnimationEnd(Animation animation) {
+            if (animation == mAnimation) {
+                notifyOnAnimationEnd();
             }
         }
+
+        @Override
+        public void onAnimationRepeat(Animation animation) {
+        }
     }
 
     public static class AnimationProperty extends SerialAnimator.TransitionProperty<Animation> {
@@ -102,6 +185,11 @@ public class SerialAnimationAnimator extends SerialAnimator<SerialAnimationAnima
             super(transitionSupplier, initialDelayInMillisec, intervalInMillisec);
         }
 
+        public AnimationProperty(@NonNull TransitionStepSupplier<Animation> transitionStepSupplier,
+                                 long initialDelayInMillisec, long intervalInMillisec) {
+            super(transitionStepSupplier, initialDelayInMillisec, intervalInMillisec);
+        }
+
         @Override
         protected long getDuration(Animation transition) {
             return transition.getDuration();
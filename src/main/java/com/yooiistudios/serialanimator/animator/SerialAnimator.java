@@ -1,16 +1,19 @@
 package com.yooiistudios.serialanimator.animator;
 
-import android.os.Handler;
-import android.os.Message;
 import android.support.annotation.NonNull;
 import android.view.View;
 
 import com.yooiistudios.serialanimator.ViewTransientUtils;
-import com.yooiistudios.serialanimator.property.AbstractViewProperty;
+import com.yooiistudios.serialanimator.metrics.TransitionMetricsListener;
 import com.yooiistudios.serialanimator.property.ViewProperties;
 import com.yooiistudios.serialanimator.property.ViewProperty;
+import com.yooiistudios.serialanimator.scheduler.HandlerTransitionScheduler;
+import com.yooiistudios.serialanimator.scheduler.TimeSource;
+import com.yooiistudios.serialanimator.scheduler.TransitionScheduler;
+import com.yooiistudios.serialanimator.scheduler.UptimeTimeSource;
 
 import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -21,21 +24,126 @@ import java.util.List;
  */
 public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty,
         S extends SerialAnimator.TransitionListener> {
-    protected interface TransitionListener { }
+    /**
+     * slot 마다 하나씩 만들어 스텝마다 다시 묶어 쓰는 트랜지션 리스너.
+     * 백엔드는 트랜지션이 끝났을 때 notifyOnAnimationEnd 를 불러주기만 하면 되고,
+     * epoch 와 콜백 무시 여부 확인, transient state 정리는 여기서 한다.
+     */
+    protected static abstract class TransitionListener {
+        private final TransitionStates mTransitionStates;
+        private ViewProperty mViewProperty;
+        private int mTransitionIndex;
+        private int mEpoch;
+        private int mGeneration;
+        private boolean mIsLastTransition;
+        private boolean mIgnoreCallback;
+
+        protected TransitionListener(TransitionStates transitionStates) {
+            mTransitionStates = transitionStates;
+        }
+
+        /**
+         * 리스너를 새 스텝으로 묶는다. 이전 스텝의 상태(콜백 무시 여부 등)는 지워진다.
+         */
+        final void rebind(ViewProperty viewProperty, int transitionIndex, boolean isLastTransition) {
+            mViewProperty = viewProperty;
+            mTransitionIndex = transitionIndex;
+            mEpoch = mTransitionStates.getEpoch();
+            mGeneration = mTransitionStates.getGeneration(viewProperty.getSlot());
+            mIsLastTransition = isLastTransition;
+            mIgnoreCallback = false;
+            onRebind();
+        }
+
+        /**
+         * rebind 될 때 불린다. 백엔드가 이전 스텝에 대해 들고 있던 상태를 지운다.
+         */
+        protected void onRebind() {
+        }
+
+        /**
+         * @return 트랜지션이 끝날 때 뷰의 transient state 를 풀어야 할 경우 true. 기본값은 마지막 트랜지션일 때
+         */
+        protected boolean isClearingTransientStateOnEnd() {
+            return mIsLastTransition;
+        }
+
+        protected final void notifyOnAnimationEnd() {
+            if (isClearingTransientStateOnEnd() && mTransitionStates.isKeepingTransientState()) {
+                ViewTransientUtils.clearState(mViewProperty);
+            }
+            if (mIsLastTransition) {
+                unmarkStartedIfFinished();
+            }
+
+            ViewProperty.AnimationListener callback = mViewProperty.getAnimationListener();
+            if (callback == null) {
+                return;
+            }
+
+            if (!mIgnoreCallback && mTransitionStates.shouldNotifyCallback(mEpoch)) {
+                // 콜백을 받는 쪽에서 어떤 트랜지션이 끝났는지 알 수 있도록 한다.
+                mViewProperty.getTransitionInfo().index = mTransitionIndex;
+                callback.onAnimationEnd(mViewProperty);
+            } else {
+                mTransitionStates.reportIgnoredCallback(mViewProperty.getViewIndex(), mTransitionIndex);
+            }
+        }
+
+        /**
+         * 시퀀스를 끝까지 마친 slot 은 더 이상 멈출 애니메이터가 없으므로 취소할 때 돌지 않도록 뺀다.
+         * 뷰 상태는 dirty 로 남아 있어 취소할 때 되돌려진다.
+         * 그 사이 취소되었거나 slot 이 다른 뷰에 재할당되었다면 취소하는 쪽에서 이미 정리했다.
+         */
+        private void unmarkStartedIfFinished() {
+            int slot = mViewProperty.getSlot();
+            if (mEpoch == mTransitionStates.getEpoch()
+                    && mGeneration == mTransitionStates.getGeneration(slot)) {
+                mTransitionStates.unmarkStarted(slot);
+            }
+        }
+
+        public ViewProperty getViewProperty() {
+            return mViewProperty;
+        }
+
+        public int getTransitionIndex() {
+            return mTransitionIndex;
+        }
+
+        public boolean isLastTransition() {
+            return mIsLastTransition;
+        }
+
+        public void setIgnoreCallback(boolean ignoreCallback) {
+            mIgnoreCallback = ignoreCallback;
+        }
+    }
+
+    private static final int INITIAL_LISTENER_CAPACITY = 16;
 
     private static final int INVALID_START_TIME = -1;
+    private static final int WINDOWED_MODE_DISABLED = -1;
 
     private final ViewProperties mViewProperties;
+    private final TransitionStates mTransitionStates;
     private T mTransitionProperty;
-    private TransitionHandler mTransitionHandler;
+    private TransitionScheduler mTransitionScheduler;
+    private TimeSource mTimeSource;
     private long mStartTimeInMilli;
+    private int mWindowedItemCount = WINDOWED_MODE_DISABLED;
+    private boolean mCompensatingLateStarts;
+    // slot 별로 재사용하는 리스너. 스텝마다 새로 만들지 않고 현재 스텝으로 다시 묶어 쓴다.
+    private TransitionListener[] mTransitionListeners = new TransitionListener[INITIAL_LISTENER_CAPACITY];
 
     protected SerialAnimator() {
         mViewProperties = new ViewProperties();
-        mTransitionHandler = new TransitionHandler(this);
+        mTransitionStates = new TransitionStates();
+        mTimeSource = UptimeTimeSource.getInstance();
     }
 
     public void animate() {
+        pruneCollectedViews();
         if (isReadyForTransition()) {
             cancelAllTransitions();
             prepareForNewTransitionSequence();
@@ -44,62 +152,123 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
     }
 
     public void cancelAllTransitions() {
-        cancelAllTransitionsInternal(false);
+        cancelAllTransitionsInternal(false, true);
     }
 
     public void cancelAndResetAllTransitions() {
-        cancelAllTransitionsInternal(true);
+        cancelAllTransitionsInternal(true, true);
     }
 
-    private void cancelAllTransitionsInternal(boolean ignorePreviousCallback) {
+    /**
+     * @param resettingViewStates false 일 경우 바뀐 뷰 상태를 되돌리지 않는다. 바로 뒤에 모든 뷰의 상태를 덮어쓸 때 사용한다.
+     */
+    private void cancelAllTransitionsInternal(boolean ignorePreviousCallback, boolean resettingViewStates) {
+        long startTimeInMilli = mStartTimeInMilli;
         resetStartTime();
 
-        mTransitionHandler.removeCallbacksAndMessages(null);
-        int viewCount = mViewProperties.size();
-        for (int i = 0; i < viewCount; i++) {
-            // SparseArray 의 keyAt 메서드 특성상 아래와 같이 쿼리하면 key 의 ascending order 로 결과값이 나온다.
-
-            // TODO: cancelAllTransitions 에서 이미 mTransitionHandler.removeCallbacksAndMessages 를
-            // 불러주고 있기 때문에 cancelHandlerMessageAt 필요 없을지도
-            cancelTransitionAtInternal(i, ignorePreviousCallback);
+        // 예약된 스텝과 (리셋 취소의 경우) 이전 트랜지션의 콜백은 epoch 를 바꾸는 것으로 한 번에 무효가 된다.
+        getTransitionScheduler().cancelAll();
+        mTransitionStates.invalidateAll(ignorePreviousCallback);
+
+        // 뷰별 정리는 트랜지션이 시작된 적이 있는 뷰에 대해서만 한다.
+        for (int i = mTransitionStates.getStartedCount() - 1; i >= 0; i--) {
+            int slot = mTransitionStates.getStartedSlotAt(i);
+            ViewProperty viewProperty = mViewProperties.getViewPropertyBySlot(slot);
+            if (viewProperty != null) {
+                mTransitionStates.setIgnorePreviousCallback(slot, ignorePreviousCallback);
+                onCancelTransitionByViewProperty(viewProperty);
+                reportCancelledTransition(viewProperty, startTimeInMilli);
+            }
+            mTransitionStates.unmarkStarted(slot);
         }
-    }
 
-    private void cancelTransitionAt(int index) {
-        cancelTransitionAtInternal(index, false);
+        // 이미 끝났거나 seekTo 로 상태만 반영된 뷰까지 처음 상태로 되돌린다.
+        if (resettingViewStates) {
+            for (int i = mTransitionStates.getDirtyCount() - 1; i >= 0; i--) {
+                resetViewState(mTransitionStates.getDirtySlotAt(i));
+            }
+        }
     }
 
-    private void cancelAndResetTransitionAt(int index) {
-        cancelTransitionAtInternal(index, true);
+    private void resetViewState(int slot) {
+        ViewProperty viewProperty = mViewProperties.getViewPropertyBySlot(slot);
+        if (viewProperty != null && viewProperty.getView() != null) {
+            onResetViewState(viewProperty);
+        }
+        mTransitionStates.unmarkDirty(slot);
     }
 
-    private void cancelTransitionAtInternal(int index, boolean ignorePreviousCallback) {
-        ViewProperty viewProperty = getViewProperties().getViewPropertyByIndex(index);
-        cancelTransitionInternal(viewProperty, ignorePreviousCallback);
+    private void cancelAndResetTransitionByKey(int key) {
+        cancelTransitionByKeyInternal(key, true);
     }
 
     private void cancelTransitionByKeyInternal(int key, boolean ignorePreviousCallback) {
         ViewProperty viewProperty = getViewProperties().getViewPropertyByKey(key);
-        cancelTransitionInternal(viewProperty, ignorePreviousCallback);
+        if (viewProperty != null) {
+            cancelTransitionInternal(viewProperty, ignorePreviousCallback);
+        }
     }
 
     private void cancelTransitionInternal(ViewProperty viewProperty, boolean ignorePreviousCallback) {
-//        ViewProperty property = getViewProperties().getViewPropertyByIndex(index);
-        cancelHandlerMessageAt(viewProperty.getViewIndex());
-        viewProperty.getTransitionInfo().ignorePreviousCallback = ignorePreviousCallback;
+        int slot = viewProperty.getSlot();
+        cancelScheduledTransition(slot);
+        mTransitionStates.setIgnorePreviousCallback(slot, ignorePreviousCallback);
         onCancelTransitionByViewProperty(viewProperty);
+        if (mTransitionStates.isStarted(slot)) {
+            reportCancelledTransition(viewProperty, mStartTimeInMilli);
+        }
+        mTransitionStates.unmarkStarted(slot);
+        if (mTransitionStates.isDirty(slot)) {
+            resetViewState(slot);
+        }
+    }
+
+    /**
+     * 타임라인 상 아직 끝나지 않았어야 할 트랜지션이 취소된 경우에만 알린다.
+     */
+    private void reportCancelledTransition(ViewProperty viewProperty, long startTimeInMilli) {
+        TransitionMetricsListener metricsListener = mTransitionStates.getMetricsListener();
+        if (metricsListener == null || startTimeInMilli == INVALID_START_TIME) {
+            return;
+        }
+        int slot = viewProperty.getSlot();
+        int transitionIndex = mTransitionStates.getTransitionIndex(slot);
+        TransitionTimeline timeline = getTransitionProperty().getTimeline();
+        long endTime = startTimeInMilli + timeline.getViewStartTime(mTransitionStates.getTimelineKey(slot))
+                + timeline.getStartOffset(transitionIndex + 1);
+
+        if (getCurrentTimeInMilli() < endTime) {
+            metricsListener.onTransitionCancelled(viewProperty.getViewIndex(), transitionIndex);
+        }
     }
 
     private void resetStartTime() {
         mStartTimeInMilli = INVALID_START_TIME;
     }
 
-    public void cancelHandlerMessageAt(int index) {
-        mTransitionHandler.removeMessages(index);
+    public void cancelHandlerMessageAt(int key) {
+        ViewProperty viewProperty = getViewProperties().getViewPropertyByKey(key);
+        if (viewProperty != null) {
+            cancelScheduledTransition(viewProperty.getSlot());
+        }
+    }
+
+    private void cancelScheduledTransition(int slot) {
+        getTransitionScheduler().cancel(slot);
+        mTransitionStates.invalidate(slot);
     }
 
+    /**
+     * slot 에서 진행중인 트랜지션을 멈춘다. 다음 스텝으로 넘어갈 때에도 불리므로 뷰 상태를 되돌리지 않아야 한다.
+     */
     protected abstract void onCancelTransitionByViewProperty(ViewProperty viewProperty);
 
+    /**
+     * 트랜지션이 취소될 때 상태가 바뀐 적 있는 뷰에 대해서만 불린다. 뷰를 첫 트랜지션의 시작 상태로 되돌린다.
+     */
+    protected void onResetViewState(ViewProperty viewProperty) {
+    }
+
     private void prepareForNewTransitionSequence() {
         prepareStartTime();
 
@@ -109,12 +278,13 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
             ViewProperty viewProperty = mViewProperties.getViewPropertyByIndex(i);
 //            int propertyIndex = mViewProperties.keyAt(i);
 //            ViewProperty viewProperty = mViewProperties.get(propertyIndex);
-            viewProperty.resetTransitionInfo();
+            mTransitionStates.reset(viewProperty.getSlot());
+            mTransitionStates.setTimelineKey(viewProperty.getSlot(), viewProperty.getViewIndex());
         }
     }
 
     private void prepareStartTime() {
-        mStartTimeInMilli = System.currentTimeMillis();
+        mStartTimeInMilli = getCurrentTimeInMilli();
     }
 
     private void runSequentialTransition() {
@@ -129,33 +299,33 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
     }
 
     protected void requestTransitionWithDelayConsume(ViewProperty viewProperty, long consume) {
-        ViewTransientUtils.setState(viewProperty);
-        long delay = getTransitionProperty().getDelay(viewProperty) - consume;
-        Message message = Message.obtain();
-        message.obj = viewProperty;
-        // 이미 등록된 메시지를 취소하는 데에 쓰일 값
-        int messageId = viewProperty.getViewIndex();
-        message.what = messageId;
+        if (mTransitionStates.isKeepingTransientState()) {
+            ViewTransientUtils.setState(viewProperty);
+        }
+        int slot = viewProperty.getSlot();
+        int transitionIndex = mTransitionStates.getTransitionIndex(slot);
+        long delay = getTransitionProperty().getDelay(viewProperty.getViewIndex(), transitionIndex)
+                - consume;
 
-        cancelHandlerMessageAt(messageId);
-        mTransitionHandler.sendMessageDelayed(message, delay);
+        mTransitionStates.markScheduled(slot);
+        getTransitionScheduler().schedule(slot, mTransitionStates.getGeneration(slot), delay);
     }
 
     protected void requestTransition(ViewProperty viewProperty) {
         requestTransitionWithDelayConsume(viewProperty, 0);
     }
 
-    protected void requestNextTransition(ViewProperty previousViewProperty) {
-        if (!isLastTransition(previousViewProperty)) {
-            AbstractViewProperty clonedViewProperty =
-                    previousViewProperty.makeShallowCloneWithDeepTransitionInfoCloneWhenPossible();
-            if (clonedViewProperty instanceof ViewProperty) {
-                ViewProperty legitViewProperty = (ViewProperty)clonedViewProperty;
-                legitViewProperty.changeToNextTransitionState();
-
-                long consume = previousViewProperty.getTransitionInfo().currentPlayTime;
-                requestTransitionWithDelayConsume(legitViewProperty, consume);
-            }
+    /**
+     * 방금 시작한 트랜지션의 다음 트랜지션을 예약한다.
+     * 복제본을 만들지 않고 slot 의 상태를 다음 트랜지션으로 옮긴다.
+     */
+    protected void requestNextTransition(ViewProperty viewProperty) {
+        if (!isLastTransition(viewProperty)) {
+            int slot = viewProperty.getSlot();
+            long consume = mTransitionStates.getCurrentPlayTime(slot);
+            mTransitionStates.moveToNextTransition(slot);
+
+            requestTransitionWithDelayConsume(viewProperty, consume);
         }
     }
 
@@ -165,19 +335,102 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
     }
 
     private void transit(ViewProperty property) {
-        S listener = makeTransitionListener(property);
+        // 리스너를 다시 묶기 전에 이전 스텝의 종료 콜백이 이전 스텝의 정보로 불리도록 먼저 취소한다.
         onCancelTransitionByViewProperty(property);
+        S listener = obtainTransitionListener(property);
+        mTransitionStates.markStarted(property.getSlot());
+        mTransitionStates.markDirty(property.getSlot());
+        reportStartedTransition(property);
+        if (mCompensatingLateStarts) {
+            compensateLateStart(property);
+        }
         onTransit(property, listener);
     }
 
+    /**
+     * 타임라인 상 시작했어야 할 시간보다 늦게 시작한 만큼 play time 을 앞당긴다.
+     * 다음 트랜지션의 지연 시간도 그만큼 줄어들므로 시퀀스 전체가 타임라인에서 밀리지 않는다.
+     */
+    private void compensateLateStart(ViewProperty property) {
+        if (isCancelled()) {
+            return;
+        }
+        int slot = property.getSlot();
+        int transitionIndex = mTransitionStates.getTransitionIndex(slot);
+        long playTime = mTransitionStates.getCurrentPlayTime(slot);
+        long lateness = getCurrentTimeInMilli()
+                - (getTransitionStartTime(property, transitionIndex) + playTime);
+
+        if (lateness > 0) {
+            long duration = getTransitionProperty().getTimeline().getDuration(transitionIndex);
+            mTransitionStates.setCurrentPlayTime(slot, Math.min(duration, playTime + lateness));
+        }
+    }
+
+    private void reportStartedTransition(ViewProperty property) {
+        TransitionMetricsListener metricsListener = mTransitionStates.getMetricsListener();
+        if (metricsListener == null || isCancelled()) {
+            return;
+        }
+        int slot = property.getSlot();
+        int transitionIndex = mTransitionStates.getTransitionIndex(slot);
+        // 진행중인 시퀀스에 합류한 경우 play time 만큼 앞선 지점부터 시작하므로 예정 시간도 그만큼 늦춘다.
+        long scheduledTime = getTransitionStartTime(property, transitionIndex)
+                + mTransitionStates.getCurrentPlayTime(slot);
+
+        metricsListener.onTransitionStarted(property.getViewIndex(), transitionIndex, scheduledTime, getCurrentTimeInMilli());
+    }
+
     protected abstract void onTransit(ViewProperty property, S transitionListener);
 
     public void putViewPropertyIfRoom(ViewProperty requestedViewProperty, int key) {
+        pruneCollectedViews();
+        putViewPropertyInternal(requestedViewProperty, key);
+    }
+
+    /**
+     * 한 페이지의 뷰들을 한 번에 등록한다. keys[i] 에 views[i] 를 putViewPropertyIfRoom 한 것과 같지만,
+     * 수거된 뷰 정리와 저장 공간 확보를 한 번만 하고 key 순 정렬도 다음 조회 때 한 번만 하므로
+     * 처음 화면을 채울 때처럼 많은 뷰를 등록해도 뷰 수에 비례하는 시간이 든다.
+     */
+    public void putViewProperties(@NonNull int[] keys, @NonNull View[] views,
+                                  ViewProperty.AnimationListener listener) {
+        if (keys.length != views.length) {
+            throw new IllegalArgumentException("keys and views must have the same length.");
+        }
+        ViewProperty[] viewProperties = new ViewProperty[views.length];
+        for (int i = 0; i < views.length; i++) {
+            ViewProperty viewProperty = new ViewProperty();
+            viewProperty.setView(views[i]);
+            viewProperty.setViewIndex(keys[i]);
+            viewProperty.setAnimationListener(listener);
+            viewProperties[i] = viewProperty;
+        }
+        putViewProperties(keys, viewProperties, viewProperties.length);
+    }
+
+    /**
+     * keys 와 viewProperties 의 앞쪽 count 개를 한 번에 등록한다.
+     */
+    protected void putViewProperties(@NonNull int[] keys, @NonNull ViewProperty[] viewProperties, int count) {
+        pruneCollectedViews();
+        mViewProperties.ensureCapacity(count);
+        mTransitionStates.ensureCapacity(mViewProperties.getSlotCapacity() + count);
+        for (int i = 0; i < count; i++) {
+            putViewPropertyInternal(viewProperties[i], keys[i]);
+        }
+    }
+
+    private void putViewPropertyInternal(ViewProperty requestedViewProperty, int key) {
         // 재사용된 뷰를 사용하는 ViewProperty 가 들어올 경우 해당 뷰가 속한 ViewProperty 의 트랜지션을 취소하고 제거한다
         cancelAndRemoveRecycledViewProperty(requestedViewProperty, key);
 
         if (!mViewProperties.isContainingKey(key)) {
             putViewProperty(requestedViewProperty, key);
+            if (isWindowed() || isRecyclable()) {
+                // 윈도우 모드와 재사용 모드에서는 화면에 새로 붙은 뷰가 진행중인 시퀀스에 합류해야 한다.
+                transitItemOnFlyAt(key);
+            }
         } else {
 //            cancelAndResetTransitionAt(key);
             ViewProperty viewProperty = getViewProperties().getViewPropertyByKey(key);
@@ -190,6 +443,37 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
         }
     }
 
+    /**
+     * 화면에 새로 붙은 뷰를 등록하고 진행중인 시퀀스에 합류시킨다. 같은 key 에 같은 뷰가 이미 등록되어 있다면 아무것도 하지 않는다.
+     * SerialAnimatorBinder 에서 사용한다.
+     */
+    void attachViewProperty(ViewProperty requestedViewProperty, int key) {
+        pruneCollectedViews();
+        cancelAndRemoveRecycledViewProperty(requestedViewProperty, key);
+
+        ViewProperty viewProperty = mViewProperties.getViewPropertyByKey(key);
+        if (viewProperty == null) {
+            putViewProperty(requestedViewProperty, key);
+        } else if (viewProperty.getView() != requestedViewProperty.getView()) {
+            // 이전 뷰에서 진행중이던 트랜지션은 새 뷰에서 이어서 진행한다.
+            cancelTransitionInternal(viewProperty, true);
+            updateViewProperty(requestedViewProperty, key);
+        } else {
+            return;
+        }
+        transitItemOnFlyAt(key);
+    }
+
+    /**
+     * 화면에서 떨어진 뷰의 트랜지션을 취소하고 바로 제거한다.
+     */
+    void detachView(View view) {
+        ViewProperty viewProperty = mViewProperties.getViewPropertyByView(view);
+        if (viewProperty != null) {
+            removeViewPropertyByKey(viewProperty.getViewIndex());
+        }
+    }
+
     private void cancelAndRemoveRecycledViewProperty(ViewProperty requestedViewProperty, int key) {
         View requestedView = requestedViewProperty.getView();
         ViewProperty recycledViewProperty = mViewProperties.getViewPropertyByView(requestedView);
@@ -197,6 +481,8 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
             int recycledKey = recycledViewProperty.getViewIndex();
             if (recycledKey != key) {
                 cancelTransitionInternal(recycledViewProperty, true);
+                evictCachedTransitions(requestedView);
+                releaseTransitionListener(recycledViewProperty.getSlot());
                 mViewProperties.removeViewPropertyByKey(recycledKey);
             }
         }
@@ -204,23 +490,375 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
 
     protected abstract void transitItemOnFlyAt(int index);
 
+    /**
+     * 진행중인 시퀀스에 key 의 뷰를 합류시킨다.
+     * 타임라인 상 지금 진행중이어야 하는 트랜지션이 있다면 해당 지점부터 바로 시작하고,
+     * 아직 시작 전이라면 시작해야 할 시간에 맞춰 예약한다.
+     */
+    protected void joinSequenceOnFlyAt(int key) {
+        if (isCancelled()) {
+            return;
+        }
+
+        ViewProperty viewProperty = getViewProperties().getViewPropertyByKey(key);
+        long timePast = getCurrentTimeInMilli() - getStartTimeInMilli();
+        T transitionProperty = getTransitionProperty();
+
+        if (transitionProperty.inTimeToTransit(viewProperty, timePast)) {
+            transitInTime(viewProperty, timePast);
+        } else if (transitionProperty.shouldTransitInFuture(viewProperty, timePast)){
+            transitInFuture(viewProperty, timePast);
+        } else if (transitionProperty.hasFinishedTransition(viewProperty, timePast)) {
+            // 재사용된 뷰가 처음 상태로 남지 않도록 트랜지션이 모두 끝난 상태로 맞춰 준다.
+            mTransitionStates.markDirty(viewProperty.getSlot());
+            onApplyFinishedState(viewProperty);
+        }
+    }
+
+    /**
+     * 시퀀스 상 트랜지션이 이미 모두 끝났어야 하는 뷰가 합류할 때 불린다. 뷰를 마지막 트랜지션이 끝난 상태로 만든다.
+     */
+    protected void onApplyFinishedState(ViewProperty viewProperty) {
+    }
+
+    /**
+     * 시퀀스를 시작 시점부터 timeInMilli 만큼 지난 상태로 만든다.
+     * 진행중인 트랜지션과 예약은 모두 취소되고, 등록된 뷰들은 타임라인 상 그 시간에 있어야 할 상태로 맞춰진다.
+     * 뷰마다 진행중인 트랜지션은 타임라인에서 O(log n) 에 찾으며 AnimationListener 는 불리지 않는다.
+     * 스크롤 같은 제스쳐에 맞춰 매 프레임 불러도 애니메이터를 다시 시작하지 않는다.
+     */
+    public void seekTo(long timeInMilli) {
+        pruneCollectedViews();
+        if (!isReadyForTransition()) {
+            return;
+        }
+        // 등록된 뷰의 상태를 모두 덮어쓰므로 처음 상태로 되돌리지 않는다.
+        cancelAllTransitionsInternal(false, false);
+
+        TransitionTimeline timeline = getTransitionProperty().getTimeline();
+        if (timeline.getTransitionCount() == 0) {
+            return;
+        }
+        int viewCount = mViewProperties.size();
+        for (int i = 0; i < viewCount; i++) {
+            ViewProperty viewProperty = mViewProperties.getViewPropertyByIndex(i);
+            if (viewProperty.getView() == null) {
+                continue;
+            }
+            int key = viewProperty.getViewIndex();
+            mTransitionStates.setTimelineKey(viewProperty.getSlot(), key);
+            mTransitionStates.markDirty(viewProperty.getSlot());
+            long timeSinceViewStart = timeInMilli - timeline.getViewStartTime(key);
+
+            if (timeSinceViewStart >= timeline.getTotalDuration()) {
+                onApplyFinishedState(viewProperty);
+            } else if (timeSinceViewStart <= 0) {
+                onSeekTransition(viewProperty, 0, 0);
+            } else {
+                int transitionIndex = timeline.getTransitionIndexAt(timeSinceViewStart);
+                onSeekTransition(viewProperty, transitionIndex,
+                        timeSinceViewStart - timeline.getStartOffset(transitionIndex));
+            }
+        }
+    }
+
+    /**
+     * 타임라인 상 지금 트랜지션이 진행중인 뷰들을 key 순서대로 out 에 담는다.
+     * 진행중인 key 범위는 타임라인에서 바로 계산하고 정렬된 key 에서 이진 탐색으로 찾으므로
+     * 등록된 뷰의 수 n 과 진행중인 뷰의 수 k 에 대해 O(log n + k) 이다.
+     * notifyItemRange* 이전에 이미 시작된 뷰는 옮겨지기 전 key 의 타이밍으로 진행되므로 포함되지 않을 수 있다.
+     * @return out 에 담은 개수
+     */
+    public int getAnimatingViewProperties(@NonNull List<ViewProperty> out) {
+        if (isCancelled() || mTransitionProperty == null) {
+            return 0;
+        }
+        long timePast = getCurrentTimeInMilli() - mStartTimeInMilli;
+        TransitionTimeline timeline = mTransitionProperty.getTimeline();
+        int firstKey = timeline.getFirstActiveKey(timePast);
+        int lastKey = timeline.getLastActiveKey(timePast);
+        if (firstKey > lastKey) {
+            return 0;
+        }
+
+        int fromIndex = mViewProperties.getFirstIndexFromKey(firstKey);
+        int toIndex = mViewProperties.getFirstIndexFromKey(lastKey + 1);
+        for (int i = fromIndex; i < toIndex; i++) {
+            out.add(mViewProperties.getViewPropertyByIndex(i));
+        }
+        return toIndex - fromIndex;
+    }
+
+    /**
+     * 시퀀스 전체 길이에 대한 비율로 seekTo 한다.
+     * @param fraction 0 은 시퀀스 시작, 1 은 모든 뷰의 트랜지션이 끝난 시점
+     */
+    public void setFraction(float fraction) {
+        if (fraction < 0f || fraction > 1f) {
+            throw new IllegalArgumentException();
+        }
+        seekTo(Math.round(fraction * getSequenceDuration()));
+    }
+
+    /**
+     * @return 등록된 (윈도우 모드에서는 전체) 아이템이 모두 트랜지션을 끝낼 때까지 걸리는 시간
+     */
+    public long getSequenceDuration() {
+        int itemCount;
+        if (isWindowed()) {
+            itemCount = getWindowedItemCount();
+        } else if (mViewProperties.size() > 0) {
+            itemCount = mViewProperties.getViewPropertyByIndex(mViewProperties.size() - 1).getViewIndex() + 1;
+        } else {
+            itemCount = 0;
+        }
+        return getTransitionProperty().getTimeline().getSequenceDuration(itemCount);
+    }
+
+    /**
+     * 뷰를 transitionIndex 번째 트랜지션이 playTime 만큼 진행된 상태로 만든다.
+     * 앞선 트랜지션들은 끝난 상태, 뒤의 트랜지션들은 시작 전 상태여야 한다.
+     */
+    protected abstract void onSeekTransition(ViewProperty viewProperty, int transitionIndex, long playTime);
+
+    private void transitInTime(ViewProperty viewProperty, long timePast) {
+        int slot = viewProperty.getSlot();
+        mTransitionStates.setTimelineKey(slot, viewProperty.getViewIndex());
+        int transitionIndex =
+                getTransitionProperty().getTransitionIndexForProperty(viewProperty, timePast);
+        mTransitionStates.setTransitionIndex(slot, transitionIndex);
+        mTransitionStates.setCurrentPlayTime(slot,
+                getTransitionProperty().getCurrentPlayTime(viewProperty, transitionIndex, timePast));
+        mTransitionStates.setIgnorePreviousCallback(slot, true);
+
+        transitAndRequestNext(viewProperty);
+    }
+
+    private void transitInFuture(ViewProperty viewProperty, long timePast) {
+        mTransitionStates.setTimelineKey(viewProperty.getSlot(), viewProperty.getViewIndex());
+        mTransitionStates.setTransitionIndex(viewProperty.getSlot(),
+                getTransitionProperty().getTransitionIndexForProperty(viewProperty, timePast));
+
+        requestTransitionWithDelayConsume(viewProperty, timePast);
+    }
+
     private void putViewProperty(ViewProperty requestedViewProperty, int key) {
         mViewProperties.putViewPropertyByKey(key, requestedViewProperty);
+
+        mTransitionStates.ensureCapacity(mViewProperties.getSlotCapacity());
+        mTransitionStates.clear(requestedViewProperty.getSlot());
+        mTransitionStates.setTimelineKey(requestedViewProperty.getSlot(), key);
+    }
+
+    /**
+     * 어댑터의 positionStart 에 itemCount 개의 아이템이 추가되었을 때 불러준다.
+     * 뒤쪽 아이템들의 key 를 한 번에 옮기고, 아직 시작하지 않은 트랜지션만 새 key 에 맞춰 다시 예약한다.
+     * 이미 진행중인 트랜지션은 그대로 진행된다.
+     */
+    public void notifyItemRangeInserted(int positionStart, int itemCount) {
+        if (itemCount <= 0) {
+            return;
+        }
+        mViewProperties.shiftKeys(positionStart, itemCount);
+        if (isWindowed()) {
+            mWindowedItemCount += itemCount;
+        }
+        retimePendingTransitions(positionStart + itemCount, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 어댑터의 positionStart 부터 itemCount 개의 아이템이 삭제되었을 때 불러준다.
+     */
+    public void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        if (itemCount <= 0) {
+            return;
+        }
+        for (int key = positionStart; key < positionStart + itemCount; key++) {
+            removeViewPropertyByKey(key);
+        }
+        mViewProperties.shiftKeys(positionStart + itemCount, -itemCount);
+        if (isWindowed()) {
+            mWindowedItemCount = Math.max(0, mWindowedItemCount - itemCount);
+        }
+        retimePendingTransitions(positionStart, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 어댑터의 fromPosition 아이템이 toPosition 으로 옮겨졌을 때 불러준다.
+     */
+    public void notifyItemMoved(int fromPosition, int toPosition) {
+        if (fromPosition == toPosition) {
+            return;
+        }
+        mViewProperties.moveKey(fromPosition, toPosition);
+        retimePendingTransitions(Math.min(fromPosition, toPosition), Math.max(fromPosition, toPosition));
+    }
+
+    /**
+     * [fromKey, toKey] 범위에서 아직 트랜지션을 시작하지 않은 뷰들을 바뀐 key 의 타이밍으로 다시 예약한다.
+     */
+    private void retimePendingTransitions(int fromKey, int toKey) {
+        if (isCancelled()) {
+            return;
+        }
+        int viewCount = mViewProperties.size();
+        for (int i = mViewProperties.getFirstIndexFromKey(fromKey); i < viewCount; i++) {
+            ViewProperty viewProperty = mViewProperties.getViewPropertyByIndex(i);
+            if (viewProperty.getViewIndex() > toKey) {
+                break;
+            }
+            int slot = viewProperty.getSlot();
+            if (!mTransitionStates.isStarted(slot)) {
+                cancelScheduledTransition(slot);
+                joinSequenceOnFlyAt(viewProperty.getViewIndex());
+            }
+        }
     }
 
     public void removeViewPropertyByKey(int key) {
-        cancelAndResetTransitionAt(key);
+        cancelAndResetTransitionByKey(key);
+        ViewProperty viewProperty = mViewProperties.getViewPropertyByKey(key);
+        if (viewProperty != null) {
+            evictCachedTransitions(viewProperty.getView());
+            onReleaseViewProperty(viewProperty);
+            releaseTransitionListener(viewProperty.getSlot());
+        }
         mViewProperties.removeViewPropertyByKey(key);
     }
 
+    /**
+     * ViewProperty 가 제거되기 직전에 불린다. 백엔드가 slot 이나 key 로 들고 있는 애니메이터와 리스너를 놓아야 한다.
+     * 뷰가 이미 수거된 경우에도 불리므로 뷰에 접근하지 않아야 한다.
+     */
+    protected void onReleaseViewProperty(ViewProperty viewProperty) {
+    }
+
+    /**
+     * true 일 경우 등록된 뷰를 약하게 참조한다. 오래 살아있는 객체가 애니메이터를 들고 있어도 뷰 계층을 붙잡지 않으며,
+     * 수거된 뷰의 ViewProperty 와 예약된 스텝은 다음에 애니메이터가 불릴 때 정리되고 캐시된 트랜지션은 뷰와 함께 사라진다.
+     * 뷰를 등록하기 전에 불러야 한다.
+     */
+    public void setWeakViewReferences(boolean weak) {
+        mViewProperties.setWeakViewReferences(weak);
+        if (mTransitionProperty != null) {
+            mTransitionProperty.setCachingTransitionsInView(weak);
+        }
+    }
+
+    public boolean isUsingWeakViewReferences() {
+        return mViewProperties.isUsingWeakViewReferences();
+    }
+
+    /**
+     * 약한 참조 모드에서 수거된 뷰의 ViewProperty 와 예약된 스텝을 정리한다.
+     */
+    protected void pruneCollectedViews() {
+        int slot;
+        while ((slot = mViewProperties.pollCollectedSlot()) != ViewProperty.INVALID_SLOT) {
+            ViewProperty viewProperty = mViewProperties.getViewPropertyBySlot(slot);
+            cancelScheduledTransition(slot);
+            mTransitionStates.unmarkStarted(slot);
+            mTransitionStates.unmarkDirty(slot);
+            onReleaseViewProperty(viewProperty);
+            releaseTransitionListener(slot);
+            mViewProperties.removeViewPropertyByKey(viewProperty.getViewIndex());
+        }
+    }
+
+    private void evictCachedTransitions(View view) {
+        if (mTransitionProperty != null) {
+            mTransitionProperty.evictCachedTransitions(view);
+        }
+    }
+
     private void updateViewProperty(ViewProperty requestedViewProperty, int idx) {
         ViewProperty viewProperty = mViewProperties.getViewPropertyByKey(idx);
-        viewProperty.setView(requestedViewProperty.getView());
+        evictCachedTransitions(viewProperty.getView());
+        mViewProperties.updateView(viewProperty, requestedViewProperty.getView());
         viewProperty.setAnimationListener(requestedViewProperty.getAnimationListener());
     }
 
     public void setTransitionProperty(T transitionProperty) {
         mTransitionProperty = transitionProperty;
+        if (transitionProperty != null && isUsingWeakViewReferences()) {
+            transitionProperty.setCachingTransitionsInView(true);
+        }
+    }
+
+    /**
+     * 트랜지션을 예약할 스케쥴러를 바꾼다. 기존 스케쥴러에 예약된 트랜지션은 모두 취소된다.
+     * 지정하지 않을 경우 뷰마다 Message 를 보내는 HandlerTransitionScheduler 를 사용한다.
+     */
+    public void setTransitionScheduler(@NonNull TransitionScheduler transitionScheduler) {
+        if (mTransitionScheduler != null) {
+            mTransitionScheduler.cancelAll();
+            mTransitionScheduler.setCallback(null);
+        }
+        mTransitionScheduler = transitionScheduler;
+        mTransitionScheduler.setCallback(new TransitionDispatcher(this));
+    }
+
+    /**
+     * true 일 경우 스케쥴러가 늦게 실행한 트랜지션을 늦은 만큼 진행된 지점부터 시작한다.
+     * 프레임당 시작 수를 제한한 FrameTransitionScheduler 처럼 시작을 다음 프레임으로 미루는 스케쥴러와 함께 쓴다.
+     */
+    public void setCompensatingLateStarts(boolean compensatingLateStarts) {
+        mCompensatingLateStarts = compensatingLateStarts;
+    }
+
+    public boolean isCompensatingLateStarts() {
+        return mCompensatingLateStarts;
+    }
+
+    /**
+     * 트랜지션 시작 지연, 취소, 무시된 콜백 등을 받을 리스너를 등록한다. null 을 넣으면 기록하지 않는다.
+     */
+    public void setTransitionMetricsListener(TransitionMetricsListener metricsListener) {
+        mTransitionStates.setMetricsListener(metricsListener);
+    }
+
+    /**
+     * 트랜지션 시간 계산에 쓸 시계를 바꾼다. 기본값은 UptimeTimeSource
+     */
+    public void setTimeSource(@NonNull TimeSource timeSource) {
+        mTimeSource = timeSource;
+    }
+
+    protected long getCurrentTimeInMilli() {
+        return mTimeSource.uptimeMillis();
+    }
+
+    protected TransitionScheduler getTransitionScheduler() {
+        if (mTransitionScheduler == null) {
+            setTransitionScheduler(new HandlerTransitionScheduler());
+        }
+        return mTransitionScheduler;
+    }
+
+    /**
+     * 윈도우 모드로 전환한다. 어댑터의 전체 아이템 개수만 알고 있고,
+     * ViewProperty 는 실제로 화면에 붙어 있는 뷰들에 대해서만 등록해 쓴다.
+     * 전체 아이템의 타이밍은 TransitionTimeline 으로 계산하므로
+     * 시퀀스 도중 새로 등록된 뷰는 진행중인 시퀀스의 해당 시점부터 트랜지션을 시작한다.
+     * 등록되지 않은 아이템에 대해서는 AnimationListener 가 불리지 않는다.
+     */
+    public void setWindowedItemCount(int itemCount) {
+        if (itemCount < 0) {
+            throw new IllegalArgumentException();
+        }
+        mWindowedItemCount = itemCount;
+    }
+
+    public void disableWindowedMode() {
+        mWindowedItemCount = WINDOWED_MODE_DISABLED;
+    }
+
+    public boolean isWindowed() {
+        return mWindowedItemCount != WINDOWED_MODE_DISABLED;
+    }
+
+    public int getWindowedItemCount() {
+        return mWindowedItemCount;
     }
 
     public void setIntervalInMillisec(long intervalInMillisec) {
@@ -229,13 +867,31 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
         }
     }
 
+    /**
+     * true 일 경우 트랜지션 중인 뷰에 transient state 를 걸지 않는다.
+     * 어댑터뷰가 애니메이션 중인 뷰도 재사용할 수 있어 스크롤 중 새 뷰를 inflate 하지 않아도 되고,
+     * 재사용된 뷰가 다시 bind 되면 타임라인에서 해당 시점의 트랜지션과 play time 을 계산해 이어서 진행한다.
+     * 진행중인 트랜지션은 모두 취소된다.
+     */
+    public void setRecyclable(boolean recyclable) {
+        if (recyclable != isRecyclable()) {
+            cancelAndResetAllTransitions();
+            mTransitionStates.setKeepingTransientState(!recyclable);
+        }
+    }
+
+    public boolean isRecyclable() {
+        return !mTransitionStates.isKeepingTransientState();
+    }
+
     protected boolean isLastTransition(ViewProperty property) {
-        List transitions = getTransitionProperty().getDummyTransitions();
-        return property.getTransitionInfo().index == transitions.size() - 1;
+        TransitionTimeline timeline = getTransitionProperty().getTimeline();
+        return timeline.isLastTransition(mTransitionStates.getTransitionIndex(property.getSlot()));
     }
 
     protected boolean isReadyForTransition() {
-        return mViewProperties.size() > 0 && mTransitionProperty != null;
+        boolean hasItems = isWindowed() ? mWindowedItemCount > 0 : mViewProperties.size() > 0;
+        return hasItems && mTransitionProperty != null;
     }
 
     protected boolean isCancelled() {
@@ -246,47 +902,113 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
         return mStartTimeInMilli;
     }
 
+    /**
+     * @return 타임라인 상 뷰의 transitionIndex 번째 트랜지션이 시작되어야 하는 시간(TimeSource 기준)
+     */
+    protected long getTransitionStartTime(ViewProperty property, int transitionIndex) {
+        TransitionTimeline timeline = getTransitionProperty().getTimeline();
+        int timelineKey = mTransitionStates.getTimelineKey(property.getSlot());
+        return mStartTimeInMilli + timeline.getViewStartTime(timelineKey)
+                + timeline.getStartOffset(transitionIndex);
+    }
+
+    /**
+     * @return 지금 시작하는 property 의 트랜지션이 시작된 것으로 볼 시간(TimeSource 기준).
+     * 진행중인 시퀀스에서는 스텝이 늦게 처리되었더라도 타임라인 상의 시작 시간이고,
+     * 취소된 뒤에는 지금에서 play time 을 뺀 시간이다.
+     */
+    protected long getCurrentTransitionStartTime(ViewProperty property) {
+        int slot = property.getSlot();
+        if (isCancelled()) {
+            return getCurrentTimeInMilli() - mTransitionStates.getCurrentPlayTime(slot);
+        }
+        return getTransitionStartTime(property, mTransitionStates.getTransitionIndex(slot));
+    }
+
     protected T getTransitionProperty() {
         return mTransitionProperty;
     }
 
+    /**
+     * slot 에서 처음 트랜지션을 시작할 때 한 번 불린다. 만들어진 리스너는 바로 property 의 지금 스텝으로 묶인다.
+     */
     protected abstract S makeTransitionListener(ViewProperty property);
 
-    protected ViewProperties getViewProperties() {
-        return mViewProperties;
+    @SuppressWarnings("unchecked")
+    private S obtainTransitionListener(ViewProperty property) {
+        int slot = property.getSlot();
+        if (slot >= mTransitionListeners.length) {
+            mTransitionListeners = Arrays.copyOf(mTransitionListeners,
+                    Math.max(slot + 1, mTransitionListeners.length * 2));
+        }
+        S listener = (S) mTransitionListeners[slot];
+        if (listener == null) {
+            listener = makeTransitionListener(property);
+            mTransitionListeners[slot] = listener;
+        }
+        listener.rebind(property, mTransitionStates.getTransitionIndex(slot), isLastTransition(property));
+        return listener;
     }
 
-    private static class TransitionHandler extends Handler {
-        private WeakReference<SerialAnimator> mAnimatorWeakReference;
+    /**
+     * @return slot 에서 마지막으로 트랜지션을 시작한 리스너. 트랜지션을 시작한 적이 없을 경우 null
+     */
+    @SuppressWarnings("unchecked")
+    protected S getTransitionListener(int slot) {
+        return slot < mTransitionListeners.length ? (S) mTransitionListeners[slot] : null;
+    }
 
-        public TransitionHandler(SerialAnimator animator) {
-            mAnimatorWeakReference = new WeakReference<>(animator);
+    private void releaseTransitionListener(int slot) {
+        if (slot < mTransitionListeners.length) {
+            mTransitionListeners[slot] = null;
         }
+    }
 
-        @Override
-        public void handleMessage(Message message) {
-            super.handleMessage(message);
+    protected ViewProperties getViewProperties() {
+        return mViewProperties;
+    }
 
-            validateMessage(message);
+    protected TransitionStates getTransitionStates() {
+        return mTransitionStates;
+    }
 
-            final ViewProperty property = getProperty(message);
-            boolean animate = property.getView() != null;
+    private void onTransitionDue(int slot, int generation) {
+        pruneCollectedViews();
+        if (!mTransitionStates.isScheduleValid(slot, generation)) {
+            // 예약된 이후 취소되었거나 다른 뷰에 재할당된 slot
+            reportDroppedTransition();
+            return;
+        }
+        ViewProperty property = mViewProperties.getViewPropertyBySlot(slot);
+        boolean animate = property != null && property.getView() != null;
 
-            if (animate) {
-                SerialAnimator animator = mAnimatorWeakReference.get();
+        if (animate) {
+            transitAndRequestNext(property);
+        } else {
+            reportDroppedTransition();
+        }
+    }
 
-                animator.transitAndRequestNext(property);
-            }
+    private void reportDroppedTransition() {
+        TransitionMetricsListener metricsListener = mTransitionStates.getMetricsListener();
+        if (metricsListener != null) {
+            metricsListener.onTransitionDropped();
         }
+    }
+
+    private static class TransitionDispatcher implements TransitionScheduler.Callback {
+        private WeakReference<SerialAnimator> mAnimatorWeakReference;
 
-        private ViewProperty getProperty(Message message) {
-            return (ViewProperty)message.obj;
+        public TransitionDispatcher(SerialAnimator animator) {
+            mAnimatorWeakReference = new WeakReference<>(animator);
         }
 
-        private void validateMessage(Message message) {
-            if (!(message.obj instanceof ViewProperty)) {
-                throw new IllegalStateException("msg.obj MUST BE an instance of subclass of "
-                        + ViewProperty.class.getSimpleName());
+        @Override
+        public void onTransitionDue(int slot, int generation) {
+            SerialAnimator animator = mAnimatorWeakReference.get();
+
+            if (animator != null) {
+                animator.onTransitionDue(slot, generation);
             }
         }
     }
@@ -296,9 +1018,24 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
             public @NonNull List<T> onSupplyTransitionList(View targetView);
         }
 
+        /**
+         * 트랜지션 리스트 대신 트랜지션들의 길이와 index 별 트랜지션을 따로 제공하는 supplier.
+         * 길이는 트랜지션을 만들지 않고 타임라인을 계산할 때 한 번만 읽고,
+         * 각 스텝의 트랜지션은 그 스텝이 실제로 시작될 때 만든다. 시작 전에 취소된 스텝의 트랜지션은 만들지 않는다.
+         */
+        public interface TransitionStepSupplier<T> {
+            public @NonNull long[] onSupplyDurations();
+            public @NonNull T onSupplyTransition(View targetView, int transitionIndex);
+        }
+
         private TransitionSupplier<T> mTransitionSupplier;
+        private TransitionStepSupplier<T> mTransitionStepSupplier;
         private long mInitialDelayInMillisec;
         private long mIntervalInMillisec;
+        private TransitionTimeline mTimeline;
+        private TransitionCache<T> mTransitionCache;
+        private int mTransitionCacheSize = LruTransitionCache.DEFAULT_MAX_SIZE;
+        private boolean mCachingTransitionsInView;
 
         // DOUBT factory 로 만들어야 하나?
         public TransitionProperty(TransitionSupplier<T> transitionSupplier,
@@ -308,6 +1045,13 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
             mTransitionSupplier = transitionSupplier;
             mInitialDelayInMillisec = initialDelayInMillisec;
             mIntervalInMillisec = intervalInMillisec;
+            rebuildTransitionCache();
+        }
+
+        public TransitionProperty(TransitionStepSupplier<T> transitionStepSupplier,
+                                  long initialDelayInMillisec, long intervalInMillisec) {
+            this((TransitionSupplier<T>) null, initialDelayInMillisec, intervalInMillisec);
+            mTransitionStepSupplier = transitionStepSupplier;
         }
 
         private void throwIfParametersAreInvalid(long initialDelayInMillisec,
@@ -321,6 +1065,24 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
             return mTransitionSupplier;
         }
 
+        public void setTransitionSupplier(@NonNull TransitionSupplier<T> transitionSupplier) {
+            mTransitionSupplier = transitionSupplier;
+            mTransitionStepSupplier = null;
+            invalidateTimeline();
+            mTransitionCache.evictAll();
+        }
+
+        protected TransitionStepSupplier<T> getTransitionStepSupplier() {
+            return mTransitionStepSupplier;
+        }
+
+        public void setTransitionStepSupplier(@NonNull TransitionStepSupplier<T> transitionStepSupplier) {
+            mTransitionStepSupplier = transitionStepSupplier;
+            mTransitionSupplier = null;
+            invalidateTimeline();
+            mTransitionCache.evictAll();
+        }
+
         public long getInitialDelayInMillisec() {
             return mInitialDelayInMillisec;
         }
@@ -331,106 +1093,191 @@ public abstract class SerialAnimator<T extends SerialAnimator.TransitionProperty
 
         public void setIntervalInMillisec(long intervalInMillisec) {
             mIntervalInMillisec = intervalInMillisec;
+            // 트랜지션 자체는 그대로이므로 타임라인만 다시 계산한다. 하위 클래스가 트랜지션에서 만든 값은 유지된다.
+            mTimeline = null;
+        }
+
+        /**
+         * 트랜지션들의 시간 정보를 담은 TransitionTimeline.
+         * 처음 불릴 때 한 번만 supplier 로부터 트랜지션 리스트를 받아 계산하고, 이후에는 캐시된 값을 쓴다.
+         */
+        public TransitionTimeline getTimeline() {
+            if (mTimeline == null) {
+                mTimeline = compileTimeline();
+            }
+            return mTimeline;
+        }
+
+        /**
+         * supplier 가 제공하는 트랜지션의 개수나 길이가 바뀌었을 경우 불러줘야 한다.
+         * 하위 클래스는 트랜지션에서 만든 값을 여기서 함께 버린다.
+         */
+        public void invalidateTimeline() {
+            mTimeline = null;
+        }
+
+        private TransitionTimeline compileTimeline() {
+            long[] durations;
+            if (mTransitionStepSupplier != null) {
+                durations = mTransitionStepSupplier.onSupplyDurations();
+            } else {
+                List<T> transitions = getDummyTransitions();
+                durations = new long[transitions.size()];
+                for (int i = 0; i < durations.length; i++) {
+                    durations[i] = getDuration(transitions.get(i));
+                }
+            }
+
+            return new TransitionTimeline(durations, mInitialDelayInMillisec, mIntervalInMillisec);
         }
 
+        /**
+         * TransitionStepSupplier 를 쓰는 경우 각 트랜지션은 리스트에서 처음 꺼낼 때 만들어진다.
+         */
         public List<T> getTransitions(View targetView) {
+            if (mTransitionStepSupplier != null) {
+                return new LazyTransitionList<>(mTransitionStepSupplier, targetView,
+                        getTimeline().getTransitionCount());
+            }
             return mTransitionSupplier.onSupplyTransitionList(targetView);
         }
 
+        /**
+         * targetView 에 대해 한 번 만들어진 트랜지션 리스트를 캐시해 두고 재사용한다.
+         */
+        public List<T> getCachedTransitions(View targetView) {
+            if (targetView == null) {
+                return getTransitions(null);
+            }
+            List<T> transitions = mTransitionCache.get(targetView);
+            if (transitions == null) {
+                transitions = getTransitions(targetView);
+                mTransitionCache.put(targetView, transitions);
+            }
+
+            return transitions;
+        }
+
+        public void evictCachedTransitions(View targetView) {
+            if (targetView != null) {
+                mTransitionCache.evict(targetView);
+            }
+        }
+
+        /**
+         * 트랜지션 리스트를 캐시해 둘 뷰의 최대 개수. 기본값은 LruTransitionCache.DEFAULT_MAX_SIZE
+         * 뷰의 태그에 캐시하는 동안에는 쓰이지 않고, 태그 캐시를 끄면 적용된다.
+         */
+        public void setTransitionCacheSize(int maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException();
+            }
+            mTransitionCacheSize = maxSize;
+            rebuildTransitionCache();
+        }
+
+        /**
+         * true 일 경우 트랜지션 리스트를 뷰의 태그에 저장해 캐시가 뷰를 붙잡지 않도록 한다.
+         * 약한 참조 모드의 애니메이터에 설정되면 자동으로 켜진다.
+         */
+        public void setCachingTransitionsInView(boolean inView) {
+            mCachingTransitionsInView = inView;
+            rebuildTransitionCache();
+        }
+
+        /**
+         * 저장 방식과 크기 중 하나만 바꿔도 다른 설정은 유지되도록 두 설정으로 캐시를 다시 만든다.
+         */
+        private void rebuildTransitionCache() {
+            if (mCachingTransitionsInView) {
+                mTransitionCache = new ViewTagTransitionCache<>();
+            } else {
+                mTransitionCache = new LruTransitionCache<>(mTransitionCacheSize);
+            }
+        }
+
         protected List<T> getDummyTransitions() {
             return getTransitions(null);
         }
 
-        protected final long getDelay(ViewProperty property) {
+        protected final long getDelay(int key, int transitionIndex) {
 //            long delay = getInitialDelayInMillisec() + getPreviousTransitionDuration(property);
-            long delay = getPreviousTransitionDuration(property);
+            long delay = getPreviousTransitionDuration(transitionIndex);
 
-            if (property.getTransitionInfo().index == 0) {
+            if (transitionIndex == 0) {
                 delay += getInitialDelayInMillisec();
-                delay += getDelayForInitialTransition(property);
+                delay += getDelayForInitialTransition(key);
             }
 
             return delay;
         }
 
         protected final long getDelayForInitialTransition(ViewProperty property) {
-            return getIntervalInMillisec() * property.getViewIndex();
+            return getDelayForInitialTransition(property.getViewIndex());
         }
 
-        protected long getTotalTransitionDuration() {
-            long totalDuration = 0;//getDelay(viewProperty);
-            List<T> transitions = getDummyTransitions();
-            for (int i = 0; i < transitions.size(); i++) {
-                T transition = transitions.get(i);
-                totalDuration += getDuration(transition);
-            }
+        protected final long getDelayForInitialTransition(int key) {
+            return getTimeline().getViewStartOffset(key);
+        }
+
+        /**
+         * 시퀀스가 시작된 시점부터 해당 뷰의 첫 트랜지션이 시작될 때까지의 시간(initial delay 포함)
+         */
+        protected final long getViewStartTime(ViewProperty property) {
+            return getTimeline().getViewStartTime(property.getViewIndex());
+        }
 
-            return totalDuration;
+        protected long getTotalTransitionDuration() {
+            return getTimeline().getTotalDuration();
         }
 
         /**
          * 해당 뷰의 트랜지션 시작 시간을 기준으로 현재 트랜지션이 언제 시작되야 하는지의 정보
          * eg, 2번째 뷰의 3번째 트랜지션의 경우 3번째 트랜지션 시작 전까지의 시간
-         * @param property
+         * @param transitionIndex
          * @return
          */
-        protected long getPreviousTransitionDuration(ViewProperty property) {
+        protected long getPreviousTransitionDuration(int transitionIndex) {
             long delayBeforeTransitions;
-//            View targetView = property.getView();
-            if (property.getTransitionInfo().index == 0) {
+            if (transitionIndex == 0) {
                 delayBeforeTransitions = 0;
             } else {
-                int previousTransitionIndex = property.getTransitionInfo().index - 1;
-                T previousTransition = getTransitions(null).get(previousTransitionIndex);
-                delayBeforeTransitions = getDuration(previousTransition);
+                int previousTransitionIndex = transitionIndex - 1;
+                delayBeforeTransitions = getTimeline().getDuration(previousTransitionIndex);
             }
 
             return delayBeforeTransitions;
         }
 
-        protected long getDelaySinceBase(ViewProperty property) {
-            long delay = 0;
-            List<T> transitions = getDummyTransitions();
-            for (int i = 0; i < property.getTransitionInfo().index; i++) {
-                T transition = transitions.get(i);
-                delay += getDuration(transition);
-            }
-
-            return delay;
+        protected long getDelaySinceBase(int transitionIndex) {
+            return getTimeline().getStartOffset(transitionIndex);
         }
 
         protected boolean inTimeToTransit(ViewProperty property, long timePast) {
-//            long delay = getDelay(property);
-            long startTime = getDelayForInitialTransition(property);
-            long endTime = startTime + getTotalTransitionDuration();
-
-            return timePast > startTime && timePast < endTime;
+            return getTimeline().isInTransition(property.getViewIndex(), timePast);
         }
 
         protected boolean shouldTransitInFuture(ViewProperty property, long timePast) {
-            long delayForInitialTransition = getDelayForInitialTransition(property);
+            long viewStartTime = getViewStartTime(property);
 
-            return  delayForInitialTransition > timePast;
+            return viewStartTime >= timePast;
+        }
+
+        protected boolean hasFinishedTransition(ViewProperty property, long timePast) {
+            return timePast >= getViewStartTime(property) + getTotalTransitionDuration();
+        }
+
+        public long getCurrentPlayTime(ViewProperty property, int transitionIndex, long timePast) {
+            long baseDelay = getViewStartTime(property);
+            long delayBeforeTransition = getDelaySinceBase(transitionIndex);
+
+            return timePast - baseDelay - delayBeforeTransition;
         }
 
         public int getTransitionIndexForProperty(ViewProperty property, long timePast) {
-            List<T> transitions = getDummyTransitions();
-            long transitionStartTime = getDelayForInitialTransition(property);
-//            long playTime = property.getTransitionInfo().currentPlayTime;
-            int transitionIndex = 0;
-            for (int i = 0; i < transitions.size(); i++) {
-                T transition = transitions.get(i);
-                long transitionEndTime = transitionStartTime + getDuration(transition);
-
-                if (timePast > transitionStartTime && timePast < transitionEndTime) {
-                    transitionIndex = i;
-                    break;
-                } else {
-                    transitionStartTime = transitionEndTime;
-                }
-            }
+            long timeSinceViewStart = timePast - getViewStartTime(property);
 
-            return transitionIndex;
+            return getTimeline().findTransitionIndex(timeSinceViewStart);
         }
 
         protected abstract long getDuration(T transition);
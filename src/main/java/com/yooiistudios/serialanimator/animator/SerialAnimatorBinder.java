@@ -0,0 +1,87 @@
+package com.yooiistudios.serialanimator.animator;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.widget.AbsListView;
+
+import com.yooiistudios.serialanimator.property.ViewProperty;
+
+import java.util.WeakHashMap;
+
+/**
+ * SerialAnimatorBinder
+ *  어댑터의 bind 시점과 아이템뷰의 attach/detach 에 맞춰 SerialAnimator 의 ViewProperty 를 자동으로 관리하는 헬퍼.
+ *  어댑터의 getView/onBindViewHolder 에서 bindView 만 불러주면 된다.
+ *
+ *  - 같은 뷰가 같은 포지션으로 다시 bind 되면 아무것도 하지 않는다.
+ *  - 새로 bind 된 뷰만 진행중인 시퀀스에 합류한다.
+ *  - 윈도우에서 떨어지거나(RecyclerView) 스크랩 힙으로 들어간(AbsListView) 뷰는 바로 트랜지션을 취소하고 제거한다.
+ *  - bind 없이 다시 붙은 뷰(RecyclerView 의 view cache) 는 마지막으로 bind 된 포지션으로 다시 합류한다.
+ *
+ *  RecyclerView 에 의존하지 않기 위해 아이템뷰마다 View.OnAttachStateChangeListener 를 등록한다.
+ */
+public class SerialAnimatorBinder implements View.OnAttachStateChangeListener, AbsListView.RecyclerListener {
+    private final SerialAnimator<?, ?> mAnimator;
+    // 리스너를 등록한 아이템뷰와 마지막으로 bind 된 포지션. 뷰가 버려지면 함께 사라진다.
+    private final WeakHashMap<View, Integer> mBoundPositions;
+    private ViewProperty.AnimationListener mAnimationListener;
+
+    public SerialAnimatorBinder(@NonNull SerialAnimator<?, ?> animator) {
+        mAnimator = animator;
+        mBoundPositions = new WeakHashMap<>();
+    }
+
+    public void setAnimationListener(ViewProperty.AnimationListener animationListener) {
+        mAnimationListener = animationListener;
+    }
+
+    /**
+     * AbsListView 는 재사용할 뷰를 윈도우에서 떼지 않고 스크랩 힙으로 옮기므로 RecyclerListener 로 알림을 받는다.
+     */
+    public void attachTo(@NonNull AbsListView listView) {
+        listView.setRecyclerListener(this);
+    }
+
+    public void bindView(@NonNull View itemView, int position) {
+        Integer boundPosition = mBoundPositions.get(itemView);
+        if (boundPosition == null) {
+            itemView.addOnAttachStateChangeListener(this);
+        }
+        if (boundPosition == null || boundPosition != position) {
+            mBoundPositions.put(itemView, position);
+        }
+
+        ViewProperty viewProperty = mAnimator.getViewProperties().getViewPropertyByView(itemView);
+        if (viewProperty != null && viewProperty.getViewIndex() == position) {
+            return;
+        }
+        register(itemView, position);
+    }
+
+    private void register(View itemView, int position) {
+        ViewProperty viewProperty = new ViewProperty.Builder()
+                .setView(itemView)
+                .setViewIndex(position)
+                .setAnimationListener(mAnimationListener)
+                .build();
+        mAnimator.attachViewProperty(viewProperty, position);
+    }
+
+    @Override
+    public void onViewAttachedToWindow(View view) {
+        Integer boundPosition = mBoundPositions.get(view);
+        if (boundPosition != null && !mAnimator.getViewProperties().isContainingView(view)) {
+            register(view, boundPosition);
+        }
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(View view) {
+        mAnimator.detachView(view);
+    }
+
+    @Override
+    public void onMovedToScrapHeap(View view) {
+        mAnimator.detachView(view);
+    }
+}
@@ -0,0 +1,235 @@
+package com.yooiistudios.serialanimator.animator;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.view.Choreographer;
+
+import com.yooiistudios.serialanimator.property.ViewProperty;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * SerialAnimatorCommandQueue
+ *  아무 스레드에서나 SerialAnimator 에 등록/제거/animate 를 요청할 수 있게 해 주는 큐.
+ *  SerialAnimator 는 메인 스레드에서만 써야 하므로 요청은 lock-free 큐에 쌓아 두었다가
+ *  다음 프레임에 한 번에 순서대로 처리한다. 요청하는 스레드는 막히지 않는다.
+ *
+ *  연달아 들어온 등록 요청은 putViewProperties 한 번으로 묶어서 처리하고,
+ *  처리 중 연달아 들어온 animate 요청은 한 번만 실행한다.
+ *  요청 객체는 풀에서 꺼내 재사용하므로 풀이 비지 않는 한 요청할 때 할당하지 않는다.
+ *  Choreographer 를 쓰기 위해 메인 스레드에서 만들어야 한다.
+ */
+public class SerialAnimatorCommandQueue implements Runnable {
+    private static final int PUT = 0;
+    private static final int REMOVE = 1;
+    private static final int ANIMATE = 2;
+
+    private static final int POOL_SIZE = 64;
+    private static final int INITIAL_BATCH_CAPACITY = 16;
+
+    private final SerialAnimator<?, ?> mAnimator;
+    // 요청은 head 에 쌓이므로 최근 요청이 앞에 온다. 처리할 때 뒤집어서 요청 순서대로 처리한다.
+    private final AtomicReference<Command> mHead;
+    private final AtomicReferenceArray<Command> mPool;
+    private final AtomicBoolean mDrainScheduled;
+    private final Handler mHandler;
+    private final DrainFrameCallback mFrameCallback;
+
+    // 메인 스레드에서만 쓰는 등록 요청 묶음
+    private int[] mBatchKeys = new int[INITIAL_BATCH_CAPACITY];
+    private ViewProperty[] mBatchViewProperties = new ViewProperty[INITIAL_BATCH_CAPACITY];
+    private int mBatchCount;
+
+    public SerialAnimatorCommandQueue(@NonNull SerialAnimator<?, ?> animator) {
+        mAnimator = animator;
+        mHead = new AtomicReference<>();
+        mPool = new AtomicReferenceArray<>(POOL_SIZE);
+        mDrainScheduled = new AtomicBoolean();
+        mHandler = new Handler(Looper.getMainLooper());
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            mFrameCallback = new DrainFrameCallback(this);
+        } else {
+            mFrameCallback = null;
+        }
+    }
+
+    public void putViewPropertyIfRoom(@NonNull ViewProperty viewProperty, int key) {
+        enqueue(PUT, viewProperty, key);
+    }
+
+    public void removeViewPropertyByKey(int key) {
+        enqueue(REMOVE, null, key);
+    }
+
+    public void animate() {
+        enqueue(ANIMATE, null, 0);
+    }
+
+    private void enqueue(int type, ViewProperty viewProperty, int key) {
+        Command command = obtainCommand();
+        command.type = type;
+        command.viewProperty = viewProperty;
+        command.key = key;
+
+        Command head;
+        do {
+            head = mHead.get();
+            command.next = head;
+        } while (!mHead.compareAndSet(head, command));
+
+        if (mDrainScheduled.compareAndSet(false, true)) {
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (mFrameCallback != null) {
+            // Choreographer 의 콜백 등록은 아무 스레드에서나 할 수 있다.
+            mFrameCallback.post();
+        } else {
+            // Choreographer 가 없는 ICS 에서는 메인 루퍼의 다음 차례에 처리한다.
+            mHandler.post(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        // 처리하는 동안 들어온 요청이 다시 처리를 예약할 수 있도록 먼저 풀어 준다.
+        mDrainScheduled.set(false);
+        drain();
+    }
+
+    /**
+     * 쌓인 요청을 지금 바로 처리한다. 메인 스레드에서만 불러야 한다.
+     */
+    public void drain() {
+        Command command = reverse(mHead.getAndSet(null));
+        boolean animateRequested = false;
+        while (command != null) {
+            if (command.type == ANIMATE) {
+                animateRequested = true;
+            } else {
+                if (animateRequested) {
+                    // 등록/제거 요청과의 순서는 지킨다.
+                    flushBatch();
+                    mAnimator.animate();
+                    animateRequested = false;
+                }
+                if (command.type == PUT) {
+                    addToBatch(command.viewProperty, command.key);
+                } else {
+                    flushBatch();
+                    mAnimator.removeViewPropertyByKey(command.key);
+                }
+            }
+            command = recycleCommand(command);
+        }
+        flushBatch();
+        if (animateRequested) {
+            mAnimator.animate();
+        }
+    }
+
+    /**
+     * 아직 처리되지 않은 요청을 모두 버린다.
+     */
+    public void clear() {
+        Command command = mHead.getAndSet(null);
+        while (command != null) {
+            command = recycleCommand(command);
+        }
+    }
+
+    private void addToBatch(ViewProperty viewProperty, int key) {
+        if (mBatchCount == mBatchKeys.length) {
+            int capacity = mBatchCount * 2;
+            mBatchKeys = Arrays.copyOf(mBatchKeys, capacity);
+            mBatchViewProperties = Arrays.copyOf(mBatchViewProperties, capacity);
+        }
+        mBatchKeys[mBatchCount] = key;
+        mBatchViewProperties[mBatchCount] = viewProperty;
+        mBatchCount++;
+    }
+
+    private void flushBatch() {
+        if (mBatchCount == 0) {
+            return;
+        }
+        mAnimator.putViewProperties(mBatchKeys, mBatchViewProperties, mBatchCount);
+        // 처리한 뷰를 붙잡지 않도록 비운다.
+        Arrays.fill(mBatchViewProperties, 0, mBatchCount, null);
+        mBatchCount = 0;
+    }
+
+    private static Command reverse(Command command) {
+        Command reversed = null;
+        while (command != null) {
+            Command next = command.next;
+            command.next = reversed;
+            reversed = command;
+            command = next;
+        }
+        return reversed;
+    }
+
+    /**
+     * 풀의 칸을 원자적으로 비우며 꺼내므로 여러 스레드가 같은 요청 객체를 가져갈 수 없다.
+     */
+    private Command obtainCommand() {
+        for (int i = 0; i < POOL_SIZE; i++) {
+            Command command = mPool.get(i);
+            if (command != null && mPool.compareAndSet(i, command, null)) {
+                return command;
+            }
+        }
+        return new Command();
+    }
+
+    /**
+     * @return 다음 요청
+     */
+    private Command recycleCommand(Command command) {
+        Command next = command.next;
+        command.next = null;
+        command.viewProperty = null;
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (mPool.get(i) == null && mPool.compareAndSet(i, null, command)) {
+                break;
+            }
+        }
+        return next;
+    }
+
+    private static class Command {
+        int type;
+        ViewProperty viewProperty;
+        int key;
+        Command next;
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class DrainFrameCallback implements Choreographer.FrameCallback {
+        private final SerialAnimatorCommandQueue mQueue;
+        private final Choreographer mChoreographer;
+
+        public DrainFrameCallback(SerialAnimatorCommandQueue queue) {
+            mQueue = queue;
+            mChoreographer = Choreographer.getInstance();
+        }
+
+        public void post() {
+            mChoreographer.postFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mQueue.run();
+        }
+    }
+}
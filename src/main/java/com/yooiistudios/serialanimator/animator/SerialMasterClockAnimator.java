@@ -0,0 +1,71 @@
+package com.yooiistudios.serialanimator.animator;
+
+import android.animation.ValueAnimator;
+import android.support.annotation.NonNull;
+
+import com.yooiistudios.serialanimator.property.ViewProperty;
+import com.yooiistudios.serialanimator.scheduler.TimeSource;
+
+import java.util.List;
+
+/**
+ * SerialMasterClockAnimator
+ *  뷰마다 ValueAnimator 를 start 하지 않고, MasterClock 의 ValueAnimator 하나가 매 프레임
+ *  진행중인 모든 뷰의 애니메이터를 타임라인에서 계산한 play time 으로 setCurrentPlayTime 해 주는 애니메이터.
+ *  트랜지션 시작 예약도 같은 MasterClock 이 처리하므로 뷰 수와 상관없이 프레임당 콜백은 하나다.
+ *
+ *  서플라이어가 주는 ValueAnimator 는 start 되지 않으므로 값은 AnimatorUpdateListener 로만 반영되고,
+ *  애니메이터 자체의 AnimatorListener(start/end) 는 불리지 않는다.
+ */
+public class SerialMasterClockAnimator extends SerialValueAnimator {
+    private final ClockedTransitions<ValueTransitionListener> mClockedTransitions;
+
+    public SerialMasterClockAnimator() {
+        mClockedTransitions = new ClockedTransitions<>(new ClockBackend());
+        setTransitionScheduler(mClockedTransitions.getMasterClock());
+    }
+
+    @Override
+    public void setTimeSource(@NonNull TimeSource timeSource) {
+        super.setTimeSource(timeSource);
+        mClockedTransitions.getMasterClock().setTimeSource(timeSource);
+    }
+
+    @Override
+    protected void onTransit(ViewProperty property, ValueTransitionListener transitionListener) {
+        int slot = property.getSlot();
+        int transitionIndex = getTransitionStates().getTransitionIndex(slot);
+        List<ValueAnimator> valueAnimators = getTransitionProperty().getCachedTransitions(property.getView());
+        ValueAnimator valueAnimator = valueAnimators.get(transitionIndex);
+
+        transitionListener.setAnimator(valueAnimator);
+        mClockedTransitions.activate(slot, transitionListener,
+                getCurrentTransitionStartTime(property), valueAnimator.getDuration());
+        valueAnimator.setCurrentPlayTime(getTransitionStates().getCurrentPlayTime(slot));
+    }
+
+    @Override
+    protected void onCancelTransitionByViewProperty(ViewProperty viewProperty) {
+        int slot = viewProperty.getSlot();
+        mClockedTransitions.cancel(slot, getTransitionStates().isIgnoringPreviousCallback(slot));
+        getTransitionStates().setIgnorePreviousCallback(slot, false);
+    }
+
+    @Override
+    protected void onReleaseViewProperty(ViewProperty viewProperty) {
+        super.onReleaseViewProperty(viewProperty);
+        mClockedTransitions.release(viewProperty.getSlot());
+    }
+
+    private static class ClockBackend implements ClockedTransitions.Backend<ValueTransitionListener> {
+        @Override
+        public void applyAt(int slot, ValueTransitionListener listener, long playTime) {
+            listener.getAnimator().setCurrentPlayTime(playTime);
+        }
+
+        @Override
+        public void onTransitionEnd(int slot, ValueTransitionListener listener) {
+            listener.onAnimationEnd(listener.getAnimator());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.yooiistudios.serialanimator.animator;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import com.yooiistudios.serialanimator.property.ViewProperty;
+import com.yooiistudios.serialanimator.scheduler.TimeSource;
+import com.yooiistudios.serialanimator.spec.TransitionSpec;
+import com.yooiistudios.serialanimator.spec.TransitionSpecs;
+
+import java.util.List;
+
+/**
+ * SerialSpecAnimator
+ *  TransitionSpec 으로 기술한 트랜지션을 애니메이터 객체 없이 평가하는 애니메이터.
+ *  스펙은 처음 쓸 때 TransitionSpecs 의 배열로 한 번 컴파일되고,
+ *  MasterClock 이 매 프레임 진행중인 뷰들의 play time 을 계산해 배열에서 바로 뷰 속성에 값을 쓴다.
+ *  페이드/슬라이드처럼 단순한 시퀀스는 뷰마다 ValueAnimator 를 만들 필요가 없다.
+ */
+public class SerialSpecAnimator extends SerialAnimator<SerialSpecAnimator.SpecProperty,
+        SerialSpecAnimator.SpecTransitionListener> {
+    private final ClockedTransitions<SpecTransitionListener> mClockedTransitions;
+
+    public SerialSpecAnimator() {
+        mClockedTransitions = new ClockedTransitions<>(new ClockBackend());
+        setTransitionScheduler(mClockedTransitions.getMasterClock());
+    }
+
+    @Override
+    public void setTimeSource(@NonNull TimeSource timeSource) {
+        super.setTimeSource(timeSource);
+        mClockedTransitions.getMasterClock().setTimeSource(timeSource);
+    }
+
+    @Override
+    protected void transitItemOnFlyAt(int index) {
+        joinSequenceOnFlyAt(index);
+    }
+
+    @Override
+    protected void onTransit(ViewProperty property, SpecTransitionListener transitionListener) {
+        int slot = property.getSlot();
+        int transitionIndex = getTransitionStates().getTransitionIndex(slot);
+
+        mClockedTransitions.activate(slot, transitionListener, getCurrentTransitionStartTime(property),
+                getTransitionProperty().getSpecs().getDuration(transitionIndex));
+        applySpec(property, transitionIndex, getTransitionStates().getCurrentPlayTime(slot));
+    }
+
+    @Override
+    protected void onCancelTransitionByViewProperty(ViewProperty viewProperty) {
+        int slot = viewProperty.getSlot();
+        mClockedTransitions.cancel(slot, getTransitionStates().isIgnoringPreviousCallback(slot));
+        getTransitionStates().setIgnorePreviousCallback(slot, false);
+    }
+
+    @Override
+    protected void onResetViewState(ViewProperty viewProperty) {
+        applySpec(viewProperty, 0, 0);
+    }
+
+    @Override
+    protected void onReleaseViewProperty(ViewProperty viewProperty) {
+        mClockedTransitions.release(viewProperty.getSlot());
+    }
+
+    @Override
+    protected void onApplyFinishedState(ViewProperty viewProperty) {
+        View view = viewProperty.getView();
+        if (view != null) {
+            getTransitionProperty().getSpecs().applyFinished(view);
+        }
+    }
+
+    @Override
+    protected void onSeekTransition(ViewProperty viewProperty, int transitionIndex, long playTime) {
+        getTransitionProperty().getSpecs().seek(viewProperty.getView(), transitionIndex, playTime);
+    }
+
+    private void applySpec(ViewProperty viewProperty, int transitionIndex, long playTime) {
+        View view = viewProperty.getView();
+        if (view != null) {
+            getTransitionProperty().getSpecs().apply(view, transitionIndex, playTime);
+        }
+    }
+
+    @Override
+    protected SpecTransitionListener makeTransitionListener(ViewProperty property) {
+        return new SpecTransitionListener(getTransitionStates());
+    }
+
+    private class ClockBackend implements ClockedTransitions.Backend<SpecTransitionListener> {
+        @Override
+        public void applyAt(int slot, SpecTransitionListener listener, long playTime) {
+            applySpec(listener.getViewProperty(), listener.getTransitionIndex(), playTime);
+        }
+
+        @Override
+        public void onTransitionEnd(int slot, SpecTransitionListener listener) {
+            listener.notifyOnAnimationEnd();
+        }
+    }
+
+    protected static class SpecTransitionListener extends SerialAnimator.TransitionListener {
+        public SpecTransitionListener(TransitionStates transitionStates) {
+            super(transitionStates);
+        }
+    }
+
+    /**
+     * TransitionSpec 리스트를 트랜지션으로 쓰는 TransitionProperty.
+     * 스펙은 모든 뷰가 공유하므로 뷰별 트랜지션 캐시를 쓰지 않고 컴파일된 TransitionSpecs 만 들고 있는다.
+     */
+    public static class SpecProperty extends SerialAnimator.TransitionProperty<TransitionSpec> {
+        private TransitionSpecs mSpecs;
+
+        public SpecProperty(@NonNull TransitionSupplier<TransitionSpec> transitionSupplier,
+                            long initialDelayInMillisec, long intervalInMillisec) {
+            super(transitionSupplier, initialDelayInMillisec, intervalInMillisec);
+        }
+
+        public SpecProperty(@NonNull List<TransitionSpec> specs,
+                            long initialDelayInMillisec, long intervalInMillisec) {
+            this(new SpecSupplier(specs), initialDelayInMillisec, intervalInMillisec);
+        }
+
+        @Override
+        protected long getDuration(TransitionSpec transition) {
+            return transition.getDuration();
+        }
+
+        /**
+         * 처음 불릴 때 supplier 로부터 스펙을 받아 배열로 컴파일하고, 이후에는 컴파일된 값을 쓴다.
+         */
+        public TransitionSpecs getSpecs() {
+            if (mSpecs == null) {
+                mSpecs = new TransitionSpecs(getDummyTransitions());
+            }
+            return mSpecs;
+        }
+
+        @Override
+        public void invalidateTimeline() {
+            super.invalidateTimeline();
+            mSpecs = null;
+        }
+
+        private static class SpecSupplier implements TransitionSupplier<TransitionSpec> {
+            private final List<TransitionSpec> mSpecs;
+
+            public SpecSupplier(List<TransitionSpec> specs) {
+                mSpecs = specs;
+            }
+
+            @NonNull
+            @Override
+            public List<TransitionSpec> onSupplyTransitionList(View targetView) {
+                return mSpecs;
+            }
+        }
+    }
+}
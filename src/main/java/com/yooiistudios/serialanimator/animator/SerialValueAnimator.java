@@ -4,12 +4,8 @@ import android.animation.Animator;
 import android.animation.ValueAnimator;
 import android.content.Context;
 import android.support.annotation.NonNull;
-import android.util.Pair;
-import android.util.SparseArray;
 import android.view.View;
 
-import com.yooiistudios.serialanimator.AnimatorListenerImpl;
-import com.yooiistudios.serialanimator.ViewTransientUtils;
 import com.yooiistudios.serialanimator.property.ViewProperty;
 
 import java.util.List;
@@ -22,10 +18,7 @@ import java.util.List;
  */
 public class SerialValueAnimator extends SerialAnimator<SerialValueAnimator.ValueAnimatorProperty,
         SerialValueAnimator.ValueTransitionListener> {
-    private ValueAnimators mValueAnimators;
-
     public SerialValueAnimator() {
-        mValueAnimators = new ValueAnimators();
     }
 
 //    public SerialValueAnimator(Context context, ViewProperty.AnimationListener listener, int count) {
@@ -34,141 +27,149 @@ public class SerialValueAnimator extends SerialAnimator<SerialValueAnimator.Valu
 //    }
 
     public void applyMockViewProperties(Context context, ViewProperty.AnimationListener listener, int count) {
-        View mockView = new View(context);
+        if (isWindowed()) {
+            // 윈도우 모드에서는 아이템마다 mock 을 만들지 않고 타임라인만으로 타이밍을 계산한다.
+            setWindowedItemCount(count);
+            return;
+        }
+        int[] keys = new int[count];
+        ViewProperty[] mockViewProperties = new ViewProperty[count];
+        int mockCount = 0;
         for (int i = 0; i < count; i++) {
-            ViewProperty mockViewProperty = new ViewProperty.Builder()
-                    .setView(mockView)
-                    .setAnimationListener(listener)
-                    .setViewIndex(i)
-                    .buildAsMock();
             if (getViewProperties().getViewPropertyByKey(i) == null) {
-//                getViewProperties().putViewPropertyByKey(i, mockViewProperty);
-                putViewPropertyIfRoom(mockViewProperty, i);
+                // ViewProperties 는 뷰마다 하나의 키만 두므로 mock 끼리도 뷰를 같이 쓰면 서로를 밀어낸다.
+                keys[mockCount] = i;
+                mockViewProperties[mockCount++] = new ViewProperty.Builder()
+                        .setView(new View(context))
+                        .setAnimationListener(listener)
+                        .setViewIndex(i)
+                        .buildAsMock();
             }
         }
+        putViewProperties(keys, mockViewProperties, mockCount);
     }
 
     @Override
     protected void transitItemOnFlyAt(int idx) {
-        if (isCancelled()) {
-            return;
-        }
-
-        ViewProperty viewProperty = getViewProperties().getViewPropertyByKey(idx);
-        long timePast = System.currentTimeMillis() - getStartTimeInMilli();
-        ValueAnimatorProperty transitionProperty = getTransitionProperty();
-
-        if (transitionProperty.inTimeToTransit(viewProperty, timePast)) {
-            transitInTime(viewProperty, timePast);
-        } else if (transitionProperty.shouldTransitInFuture(viewProperty, timePast)){
-            transitInFuture(viewProperty, timePast);
-        }
-    }
-
-    private void transitInTime(ViewProperty viewProperty, long timePast) {
-        viewProperty.getTransitionInfo().index =
-                getTransitionProperty().getTransitionIndexForProperty(viewProperty, timePast);
-        viewProperty.getTransitionInfo().currentPlayTime =
-                getTransitionProperty().getCurrentPlayTime(viewProperty, timePast);
-        viewProperty.getTransitionInfo().ignorePreviousCallback = true;
-
-        transitAndRequestNext(viewProperty);
-    }
-
-    private void transitInFuture(ViewProperty viewProperty, long timePast) {
-        viewProperty.getTransitionInfo().index =
-                getTransitionProperty().getTransitionIndexForProperty(viewProperty, timePast);
-
-        requestTransitionWithDelayConsume(viewProperty, timePast);
+        joinSequenceOnFlyAt(idx);
     }
 
     @Override
     protected void onTransit(ViewProperty property, ValueTransitionListener transitionListener) {
-        List<ValueAnimator> valueAnimators = getTransitionProperty().getTransitions(property.getView());
+        List<ValueAnimator> valueAnimators = getTransitionProperty().getCachedTransitions(property.getView());
 //        if (isLastTransition(property)) {
 //            for (ValueAnimator animator : valueAnimators) {
 //                animator.addListener(transitionListener);
 //            }
 //        }
-        ValueAnimator valueAnimator = valueAnimators.get(property.getTransitionInfo().index);
+        int slot = property.getSlot();
+        ValueAnimator valueAnimator =
+                valueAnimators.get(getTransitionStates().getTransitionIndex(slot));
+        transitionListener.setAnimator(valueAnimator);
         valueAnimator.addListener(transitionListener);
         valueAnimator.start();
-        valueAnimator.setCurrentPlayTime(property.getTransitionInfo().currentPlayTime);
-
-        mValueAnimators.put(valueAnimator, transitionListener, property.getViewIndex());
+        valueAnimator.setCurrentPlayTime(getTransitionStates().getCurrentPlayTime(slot));
     }
 
+    /**
+     * transit 에서 매 스텝마다 불리므로 트랜지션을 시작한 적이 없는 slot 에서는 아무것도 하지 않는다.
+     */
     @Override
     protected void onCancelTransitionByViewProperty(ViewProperty viewProperty) {
-        cancelValueAnimatorAt(viewProperty);
-        resetViewStateByKey(viewProperty.getViewIndex());
+        int slot = viewProperty.getSlot();
+        ValueTransitionListener listener = getTransitionListener(slot);
+        ValueAnimator animator = listener != null ? listener.getAnimator() : null;
+        if (animator != null) {
+            listener.setIgnoreCallback(getTransitionStates().isIgnoringPreviousCallback(slot));
+            animator.cancel();
+            // 시작되지 않은 애니메이터는 cancel 해도 종료 콜백이 오지 않으므로 직접 놓는다.
+            animator.removeListener(listener);
+            listener.setAnimator(null);
+        }
+        getTransitionStates().setIgnorePreviousCallback(slot, false);
     }
 
-    private void cancelValueAnimatorAt(ViewProperty viewProperty) {
-        ValueTransitionListener listener = mValueAnimators.getListenerByIndex(viewProperty.getViewIndex());
-        listener.setIgnoreCallback(viewProperty.getTransitionInfo().ignorePreviousCallback);
-        viewProperty.getTransitionInfo().ignorePreviousCallback = false;
+    @Override
+    protected void onResetViewState(ViewProperty viewProperty) {
+        List<ValueAnimator> valueAnimators =
+                getTransitionProperty().getCachedTransitions(viewProperty.getView());
+        valueAnimators.get(0).setCurrentPlayTime(0);
+    }
 
-        ValueAnimator animator = mValueAnimators.getAnimatorByIndex(viewProperty.getViewIndex());
-        animator.cancel();
+    @Override
+    protected void onApplyFinishedState(ViewProperty viewProperty) {
+        // 트랜지션마다 다른 속성을 바꿀 수 있으므로 순서대로 모두 끝 상태로 만든다.
+        List<ValueAnimator> valueAnimators =
+                getTransitionProperty().getCachedTransitions(viewProperty.getView());
+        for (int i = 0; i < valueAnimators.size(); i++) {
+            ValueAnimator valueAnimator = valueAnimators.get(i);
+            valueAnimator.setCurrentPlayTime(valueAnimator.getDuration());
+        }
     }
 
-    private void resetViewStateByKey(int key) {
-        ViewProperty viewProperty = getViewProperties().getViewPropertyByKey(key);
-        List<ValueAnimator> valueAnimators = getTransitionProperty().getTransitions(viewProperty.getView());
-        ValueAnimator valueAnimator = valueAnimators.get(0);
-        valueAnimator.setCurrentPlayTime(0);
+    @Override
+    protected void onSeekTransition(ViewProperty viewProperty, int transitionIndex, long playTime) {
+        List<ValueAnimator> valueAnimators =
+                getTransitionProperty().getCachedTransitions(viewProperty.getView());
+        // 같은 속성을 바꾸는 트랜지션이 여럿일 수 있으므로 진행중인 트랜지션을 마지막에 반영한다.
+        for (int i = valueAnimators.size() - 1; i > transitionIndex; i--) {
+            valueAnimators.get(i).setCurrentPlayTime(0);
+        }
+        for (int i = 0; i < transitionIndex; i++) {
+            ValueAnimator valueAnimator = valueAnimators.get(i);
+            valueAnimator.setCurrentPlayTime(valueAnimator.getDuration());
+        }
+        valueAnimators.get(transitionIndex).setCurrentPlayTime(playTime);
     }
 
     @Override
     protected ValueTransitionListener makeTransitionListener(ViewProperty property) {
-        ValueTransitionListener listener = new ValueTransitionListener(property);
-        // FIXME 아래 라인 copy & paste 임. super 로 빼야 할듯
-        listener.setLastTransition(isLastTransition(property));
-
-        return listener;
+        return new ValueTransitionListener(getTransitionStates());
     }
 
-    protected static class ValueTransitionListener extends AnimatorListenerImpl
-            implements SerialAnimator.TransitionListener {
-        private ViewProperty mViewProperty;
-        private boolean mIsLastTransition;
-        private boolean mIgnoreCallback;
+    protected static class ValueTransitionListener extends SerialAnimator.TransitionListener
+            implements Animator.AnimatorListener {
+        // 지금 스텝의 애니메이터. 이전 스텝의 애니메이터에서 늦게 온 종료 이벤트를 거르기 위해 쓴다.
+        // 애니메이터가 뷰를 붙잡지 않도록 스텝이 끝나거나 취소되면 놓는다.
+        private ValueAnimator mAnimator;
 
-        public ValueTransitionListener(ViewProperty viewProperty) {
-            mViewProperty = viewProperty;
+        public ValueTransitionListener(TransitionStates transitionStates) {
+            super(transitionStates);
         }
 
-        public ViewProperty getViewProperty() {
-            return mViewProperty;
+        @Override
+        protected void onRebind() {
+            mAnimator = null;
         }
 
-        private void notifyOnAnimationEnd() {
-            if (mIsLastTransition) {
-                ViewTransientUtils.clearState(getViewProperty());
-            }
+        public void setAnimator(ValueAnimator animator) {
+            mAnimator = animator;
+        }
 
-            if (!mIgnoreCallback) {
-                ViewProperty.AnimationListener callback =
-                        getViewProperty().getAnimationListener();
+        public ValueAnimator getAnimator() {
+            return mAnimator;
+        }
 
-                if (callback != null) {
-                    callback.onAnimationEnd(getViewProperty());
-                }
-            }
+        @Override
+        public void onAnimationStart(Animator animation) {
         }
 
         @Override
         public void onAnimationEnd(Animator animation) {
-            notifyOnAnimationEnd();
+            // 캐시된 애니메이터는 다음 스텝에 재사용되므로 리스너가 쌓이지 않도록 제거한다.
+            animation.removeListener(this);
+            if (animation == mAnimator) {
+                mAnimator = null;
+                notifyOnAnimationEnd();
+            }
         }
 
-        public void setLastTransition(boolean isLastTransition) {
-            mIsLastTransition = isLastTransition;
+        @Override
+        public void onAnimationCancel(Animator animation) {
         }
 
-        public void setIgnoreCallback(boolean ignoreCallback) {
-            mIgnoreCallback = ignoreCallback;
+        @Override
+        public void onAnimationRepeat(Animator animation) {
         }
     }
 
@@ -178,70 +179,14 @@ public class SerialValueAnimator extends SerialAnimator<SerialValueAnimator.Valu
             super(transitionSupplier, initialDelayInMillisec, intervalInMillisec);
         }
 
+        public ValueAnimatorProperty(@NonNull TransitionStepSupplier<ValueAnimator> transitionStepSupplier,
+                                     long initialDelayInMillisec, long intervalInMillisec) {
+            super(transitionStepSupplier, initialDelayInMillisec, intervalInMillisec);
+        }
+
         @Override
         protected long getDuration(ValueAnimator transition) {
             return transition.getDuration();
         }
-
-        public long getCurrentPlayTime(ViewProperty property, long timePast) {
-            long baseDelay = getDelayForInitialTransition(property);
-            long delayBeforeTransition = 0;
-
-            List<ValueAnimator> transitionList = getTransitions(null);
-            for (int i = 0; i < property.getTransitionInfo().index; i++) {
-                android.animation.ValueAnimator transition = transitionList.get(i);
-                delayBeforeTransition += getDuration(transition);
-            }
-
-            return timePast - baseDelay - delayBeforeTransition;
-        }
-    }
-
-    private static class ValueAnimators {
-        private SparseArray<Pair<ValueAnimator, ValueTransitionListener>> mValueAnimators = new SparseArray<>();
-
-        public void put(ValueAnimator animator, ValueTransitionListener animatorListener, int index) {
-            mValueAnimators.put(index, new Pair<>(animator, animatorListener));
-        }
-
-        public ValueAnimator getAnimatorByIndex(int index) {
-            ValueAnimator animator;
-            try {
-                animator = mValueAnimators.get(index).first;
-                if (animator == null) {
-                    animator = new NullValueAnimator();
-                }
-            } catch (IndexOutOfBoundsException | NullPointerException e) {
-                animator = new NullValueAnimator();
-            }
-
-            return animator;
-        }
-
-        public ValueTransitionListener getListenerByIndex(int index) {
-            ValueTransitionListener animatorListener;
-            try {
-                animatorListener = mValueAnimators.get(index).second;
-                if (animatorListener == null) {
-                    animatorListener = new NullValueTransitionListener();
-                }
-            } catch (IndexOutOfBoundsException | NullPointerException e) {
-                animatorListener = new NullValueTransitionListener();
-            }
-
-            return animatorListener;
-        }
-
-        private static class NullValueAnimator extends ValueAnimator {
-            @Override
-            public void cancel() {
-            }
-        }
-
-        private static class NullValueTransitionListener extends ValueTransitionListener {
-            public NullValueTransitionListener() {
-                super(null);
-            }
-        }
     }
 }
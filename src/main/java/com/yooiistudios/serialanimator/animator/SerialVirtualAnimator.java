@@ -0,0 +1,161 @@
+package com.yooiistudios.serialanimator.animator;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import com.yooiistudios.serialanimator.property.ViewProperty;
+import com.yooiistudios.serialanimator.scheduler.VirtualTimeEngine;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SerialVirtualAnimator
+ *  실제 애니메이터 대신 VirtualTimeEngine 의 가상 시간으로 트랜지션 길이만큼 진행하는 애니메이터.
+ *  Looper 나 ValueAnimator 없이 스케쥴링/콜백 흐름을 그대로 재현하므로
+ *  JVM 에서 긴 시퀀스를 빠르게 돌려 보거나 스케쥴링 오버헤드를 측정할 때 쓴다.
+ */
+public class SerialVirtualAnimator extends SerialAnimator<SerialVirtualAnimator.VirtualTransitionProperty,
+        SerialVirtualAnimator.VirtualTransitionListener> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final VirtualTimeEngine mEngine;
+    // slot 별로 진행중인 트랜지션의 리스너
+    private VirtualTransitionListener[] mListeners;
+
+    public SerialVirtualAnimator(@NonNull VirtualTimeEngine engine) {
+        mEngine = engine;
+        mListeners = new VirtualTransitionListener[INITIAL_CAPACITY];
+        setTransitionScheduler(engine);
+        setTimeSource(engine);
+        engine.setAnimationCallback(new AnimationEndDispatcher(this));
+    }
+
+    public VirtualTimeEngine getEngine() {
+        return mEngine;
+    }
+
+    @Override
+    protected void transitItemOnFlyAt(int index) {
+        joinSequenceOnFlyAt(index);
+    }
+
+    @Override
+    protected void onTransit(ViewProperty property, VirtualTransitionListener transitionListener) {
+        int slot = property.getSlot();
+        if (slot >= mListeners.length) {
+            mListeners = Arrays.copyOf(mListeners, Math.max(slot + 1, mListeners.length * 2));
+        }
+        mListeners[slot] = transitionListener;
+
+        TransitionStates states = getTransitionStates();
+        long duration = getTransitionProperty().getTimeline()
+                .getDuration(states.getTransitionIndex(slot));
+        long remaining = duration - states.getCurrentPlayTime(slot);
+        mEngine.scheduleAnimationEnd(slot, states.getGeneration(slot), remaining);
+    }
+
+    @Override
+    protected void onCancelTransitionByViewProperty(ViewProperty viewProperty) {
+        int slot = viewProperty.getSlot();
+        TransitionStates states = getTransitionStates();
+        VirtualTransitionListener listener = slot < mListeners.length ? mListeners[slot] : null;
+        if (listener != null) {
+            // ValueAnimator.cancel 과 같이 취소될 때에도 종료 콜백을 불러준다.
+            mListeners[slot] = null;
+            mEngine.cancelAnimationEnd(slot);
+            listener.setIgnoreCallback(states.isIgnoringPreviousCallback(slot));
+            listener.notifyOnAnimationEnd();
+        }
+        states.setIgnorePreviousCallback(slot, false);
+    }
+
+    @Override
+    protected void onReleaseViewProperty(ViewProperty viewProperty) {
+        int slot = viewProperty.getSlot();
+        if (slot < mListeners.length && mListeners[slot] != null) {
+            mListeners[slot] = null;
+            mEngine.cancelAnimationEnd(slot);
+        }
+    }
+
+    @Override
+    protected void onSeekTransition(ViewProperty viewProperty, int transitionIndex, long playTime) {
+        // 가상 트랜지션은 뷰에 반영할 상태가 없다.
+    }
+
+    private void onAnimationEnd(int slot) {
+        VirtualTransitionListener listener = slot < mListeners.length ? mListeners[slot] : null;
+        if (listener != null) {
+            mListeners[slot] = null;
+            listener.notifyOnAnimationEnd();
+        }
+    }
+
+    @Override
+    protected VirtualTransitionListener makeTransitionListener(ViewProperty property) {
+        return new VirtualTransitionListener(getTransitionStates());
+    }
+
+    private static class AnimationEndDispatcher implements VirtualTimeEngine.AnimationCallback {
+        private WeakReference<SerialVirtualAnimator> mAnimatorWeakReference;
+
+        public AnimationEndDispatcher(SerialVirtualAnimator animator) {
+            mAnimatorWeakReference = new WeakReference<>(animator);
+        }
+
+        @Override
+        public void onAnimationDue(int slot, int generation) {
+            SerialVirtualAnimator animator = mAnimatorWeakReference.get();
+
+            if (animator != null) {
+                animator.onAnimationEnd(slot);
+            }
+        }
+    }
+
+    protected static class VirtualTransitionListener extends SerialAnimator.TransitionListener {
+        public VirtualTransitionListener(TransitionStates transitionStates) {
+            super(transitionStates);
+        }
+    }
+
+    /**
+     * 각 트랜지션의 길이(ms) 를 트랜지션으로 쓰는 TransitionProperty
+     */
+    public static class VirtualTransitionProperty extends SerialAnimator.TransitionProperty<Long> {
+        public VirtualTransitionProperty(@NonNull TransitionSupplier<Long> transitionSupplier,
+                                         long initialDelayInMillisec, long intervalInMillisec) {
+            super(transitionSupplier, initialDelayInMillisec, intervalInMillisec);
+        }
+
+        public VirtualTransitionProperty(@NonNull long[] durations,
+                                         long initialDelayInMillisec, long intervalInMillisec) {
+            this(new DurationSupplier(durations), initialDelayInMillisec, intervalInMillisec);
+        }
+
+        @Override
+        protected long getDuration(Long transition) {
+            return transition;
+        }
+
+        private static class DurationSupplier implements TransitionSupplier<Long> {
+            private final List<Long> mDurations;
+
+            public DurationSupplier(long[] durations) {
+                mDurations = new ArrayList<>(durations.length);
+                for (long duration : durations) {
+                    mDurations.add(duration);
+                }
+            }
+
+            @NonNull
+            @Override
+            public List<Long> onSupplyTransitionList(View targetView) {
+                return mDurations;
+            }
+        }
+    }
+}
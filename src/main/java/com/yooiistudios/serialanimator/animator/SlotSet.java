@@ -0,0 +1,63 @@
+package com.yooiistudios.serialanimator.animator;
+
+import java.util.Arrays;
+
+/**
+ * SlotSet
+ *  slot 들의 집합. 추가/제거/포함 여부 확인이 O(1) 이고, 원소들을 빈틈 없는 배열로 들고 있어
+ *  전체 slot 수가 아닌 원소 수만큼만 순회할 수 있다.
+ *  순회 중에 현재 원소를 제거하려면 뒤에서부터 돌아야 한다.
+ */
+class SlotSet {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NOT_CONTAINED = -1;
+
+    private int[] mSlots = new int[INITIAL_CAPACITY];
+    private int[] mPositions = newPositions(INITIAL_CAPACITY);
+    private int mSize;
+
+    private static int[] newPositions(int capacity) {
+        int[] positions = new int[capacity];
+        Arrays.fill(positions, NOT_CONTAINED);
+        return positions;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > mPositions.length) {
+            int oldCapacity = mPositions.length;
+            int newCapacity = Math.max(capacity, oldCapacity * 2);
+            mSlots = Arrays.copyOf(mSlots, newCapacity);
+            mPositions = Arrays.copyOf(mPositions, newCapacity);
+            Arrays.fill(mPositions, oldCapacity, newCapacity, NOT_CONTAINED);
+        }
+    }
+
+    public void add(int slot) {
+        if (mPositions[slot] == NOT_CONTAINED) {
+            mPositions[slot] = mSize;
+            mSlots[mSize++] = slot;
+        }
+    }
+
+    public void remove(int slot) {
+        int position = mPositions[slot];
+        if (position != NOT_CONTAINED) {
+            int lastSlot = mSlots[--mSize];
+            mSlots[position] = lastSlot;
+            mPositions[lastSlot] = position;
+            mPositions[slot] = NOT_CONTAINED;
+        }
+    }
+
+    public boolean contains(int slot) {
+        return mPositions[slot] != NOT_CONTAINED;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public int get(int position) {
+        return mSlots[position];
+    }
+}
@@ -0,0 +1,20 @@
+package com.yooiistudios.serialanimator.animator;
+
+import android.view.View;
+
+import java.util.List;
+
+/**
+ * TransitionCache
+ *  뷰마다 TransitionSupplier 가 만들어 준 트랜지션 리스트를 재사용하기 위한 캐시.
+ *  뷰가 제거되거나 재사용될 때 evict 해줘야 한다.
+ */
+interface TransitionCache<T> {
+    public List<T> get(View view);
+
+    public void put(View view, List<T> transitions);
+
+    public void evict(View view);
+
+    public void evictAll();
+}
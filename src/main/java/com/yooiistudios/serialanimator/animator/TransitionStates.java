@@ -0,0 +1,225 @@
+package com.yooiistudios.serialanimator.animator;
+
+import com.yooiistudios.serialanimator.metrics.TransitionMetricsListener;
+
+import java.util.Arrays;
+
+/**
+ * TransitionStates
+ *  뷰별 트랜지션 진행 상태를 slot 으로 접근하는 primitive 배열에 모아 둔 저장소.
+ *  트랜지션 스텝을 진행할 때마다 ViewProperty 를 복제하지 않기 위해 사용한다.
+ *
+ *  전체 취소는 epoch 를 증가시키는 것으로 처리한다. 이전 epoch 에 예약된 스텝과
+ *  (리셋 취소의 경우) 이전 epoch 에 시작된 트랜지션의 콜백은 뷰를 하나씩 돌지 않아도 무효가 된다.
+ *  마지막 초기화 이후 트랜지션이 시작된 slot 과 뷰 상태가 바뀐 slot 은 따로 모아 두어 취소 시 이 slot 들만 정리한다.
+ */
+public class TransitionStates {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] mTransitionIndices = new int[INITIAL_CAPACITY];
+    private long[] mCurrentPlayTimes = new long[INITIAL_CAPACITY];
+    private boolean[] mIgnorePreviousCallbacks = new boolean[INITIAL_CAPACITY];
+    // 예약된 스텝이 아직 유효한지 확인하기 위한 값. 슬롯이 초기화되거나 취소될 때마다 증가한다.
+    private int[] mGenerations = new int[INITIAL_CAPACITY];
+    private int[] mScheduledEpochs = new int[INITIAL_CAPACITY];
+    // 타임라인 상의 위치를 계산할 때 쓴 key. 진행중에 key 가 바뀌어도 이미 시작된 뷰의 타이밍은 유지한다.
+    private int[] mTimelineKeys = new int[INITIAL_CAPACITY];
+
+    private int mEpoch;
+    // 이 값 이하의 epoch 에 시작된 트랜지션의 콜백은 무시한다.
+    private int mIgnoredCallbackEpoch = -1;
+
+    private final SlotSet mStartedSlots = new SlotSet();
+    private final SlotSet mDirtySlots = new SlotSet();
+
+    private TransitionMetricsListener mMetricsListener;
+    // false 일 경우 트랜지션 동안 뷰에 transient state 를 걸지 않아 어댑터뷰가 뷰를 재사용할 수 있다.
+    private boolean mKeepingTransientState = true;
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > mTransitionIndices.length) {
+            int oldCapacity = mTransitionIndices.length;
+            int newCapacity = Math.max(capacity, oldCapacity * 2);
+            mTransitionIndices = Arrays.copyOf(mTransitionIndices, newCapacity);
+            mCurrentPlayTimes = Arrays.copyOf(mCurrentPlayTimes, newCapacity);
+            mIgnorePreviousCallbacks = Arrays.copyOf(mIgnorePreviousCallbacks, newCapacity);
+            mGenerations = Arrays.copyOf(mGenerations, newCapacity);
+            mScheduledEpochs = Arrays.copyOf(mScheduledEpochs, newCapacity);
+            mTimelineKeys = Arrays.copyOf(mTimelineKeys, newCapacity);
+            mStartedSlots.ensureCapacity(newCapacity);
+            mDirtySlots.ensureCapacity(newCapacity);
+        }
+    }
+
+    /**
+     * 새 뷰에 할당된 슬롯을 초기 상태로 만든다. 이전에 예약된 스텝은 무효가 된다.
+     */
+    public void clear(int slot) {
+        reset(slot);
+        mIgnorePreviousCallbacks[slot] = false;
+        invalidate(slot);
+        unmarkStarted(slot);
+        unmarkDirty(slot);
+    }
+
+    /**
+     * 첫 트랜지션부터 다시 시작할 수 있도록 트랜지션 index 와 play time 을 초기화한다.
+     */
+    public void reset(int slot) {
+        mTransitionIndices[slot] = 0;
+        mCurrentPlayTimes[slot] = 0;
+    }
+
+    public void moveToNextTransition(int slot) {
+        mTransitionIndices[slot]++;
+        mCurrentPlayTimes[slot] = 0;
+    }
+
+    public void invalidate(int slot) {
+        mGenerations[slot]++;
+    }
+
+    public int getTransitionIndex(int slot) {
+        return mTransitionIndices[slot];
+    }
+
+    public void setTransitionIndex(int slot, int transitionIndex) {
+        mTransitionIndices[slot] = transitionIndex;
+    }
+
+    public long getCurrentPlayTime(int slot) {
+        return mCurrentPlayTimes[slot];
+    }
+
+    public void setCurrentPlayTime(int slot, long currentPlayTime) {
+        mCurrentPlayTimes[slot] = currentPlayTime;
+    }
+
+    public boolean isIgnoringPreviousCallback(int slot) {
+        return mIgnorePreviousCallbacks[slot];
+    }
+
+    public void setIgnorePreviousCallback(int slot, boolean ignorePreviousCallback) {
+        mIgnorePreviousCallbacks[slot] = ignorePreviousCallback;
+    }
+
+    public int getTimelineKey(int slot) {
+        return mTimelineKeys[slot];
+    }
+
+    public void setTimelineKey(int slot, int timelineKey) {
+        mTimelineKeys[slot] = timelineKey;
+    }
+
+    public int getGeneration(int slot) {
+        return mGenerations[slot];
+    }
+
+    /**
+     * 모든 slot 에 예약된 스텝을 O(1) 에 무효로 만든다.
+     * @param ignoreCallbacks true 일 경우 지금까지 시작된 트랜지션의 콜백도 무시한다.
+     */
+    public void invalidateAll(boolean ignoreCallbacks) {
+        if (ignoreCallbacks) {
+            mIgnoredCallbackEpoch = mEpoch;
+        }
+        mEpoch++;
+    }
+
+    public int getEpoch() {
+        return mEpoch;
+    }
+
+    public void markScheduled(int slot) {
+        mScheduledEpochs[slot] = mEpoch;
+    }
+
+    /**
+     * @return slot 에 generation 으로 예약된 스텝이 아직 유효할 경우 true
+     */
+    public boolean isScheduleValid(int slot, int generation) {
+        return slot < mGenerations.length
+                && mGenerations[slot] == generation
+                && mScheduledEpochs[slot] == mEpoch;
+    }
+
+    /**
+     * @return epoch 에 시작된 트랜지션의 콜백을 불러줘야 할 경우 true
+     */
+    public boolean shouldNotifyCallback(int epoch) {
+        return epoch > mIgnoredCallbackEpoch;
+    }
+
+    public boolean isKeepingTransientState() {
+        return mKeepingTransientState;
+    }
+
+    public void setKeepingTransientState(boolean keepingTransientState) {
+        mKeepingTransientState = keepingTransientState;
+    }
+
+    public TransitionMetricsListener getMetricsListener() {
+        return mMetricsListener;
+    }
+
+    public void setMetricsListener(TransitionMetricsListener metricsListener) {
+        mMetricsListener = metricsListener;
+    }
+
+    /**
+     * 끝난 트랜지션의 콜백을 전달하지 않았음을 metrics listener 에 알린다.
+     */
+    public void reportIgnoredCallback(int key, int transitionIndex) {
+        if (mMetricsListener != null) {
+            mMetricsListener.onCallbackIgnored(key, transitionIndex);
+        }
+    }
+
+    /**
+     * slot 의 뷰에서 트랜지션이 시작되었음을 기록한다.
+     * 취소할 때 애니메이터를 멈추고 뷰 상태를 되돌려야 하는 slot 들이다.
+     */
+    public void markStarted(int slot) {
+        mStartedSlots.add(slot);
+    }
+
+    public void unmarkStarted(int slot) {
+        mStartedSlots.remove(slot);
+    }
+
+    public boolean isStarted(int slot) {
+        return mStartedSlots.contains(slot);
+    }
+
+    public int getStartedCount() {
+        return mStartedSlots.size();
+    }
+
+    public int getStartedSlotAt(int position) {
+        return mStartedSlots.get(position);
+    }
+
+    /**
+     * slot 의 뷰가 처음 상태에서 바뀌었음을 기록한다.
+     * 트랜지션이 시작되었거나 seekTo 등으로 상태가 직접 반영된 뷰로, 끝난 뒤에도 취소할 때 처음 상태로 되돌려야 한다.
+     */
+    public void markDirty(int slot) {
+        mDirtySlots.add(slot);
+    }
+
+    public void unmarkDirty(int slot) {
+        mDirtySlots.remove(slot);
+    }
+
+    public boolean isDirty(int slot) {
+        return mDirtySlots.contains(slot);
+    }
+
+    public int getDirtyCount() {
+        return mDirtySlots.size();
+    }
+
+    public int getDirtySlotAt(int position) {
+        return mDirtySlots.get(position);
+    }
+}
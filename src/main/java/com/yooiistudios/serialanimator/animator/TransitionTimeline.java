@@ -0,0 +1,173 @@
+package com.yooiistudios.serialanimator.animator;
+
+import java.util.Arrays;
+
+/**
+ * TransitionTimeline
+ *  TransitionSupplier 가 제공하는 트랜지션들의 시간 정보를 미리 계산해 둔 불변 객체.
+ *  각 트랜지션의 시작 시간을 누적합으로 들고 있어 시간 관련 쿼리를 O(1) 또는 O(log n) 에 처리한다.
+ */
+public final class TransitionTimeline {
+    // mStartOffsets[i] : 뷰의 첫 트랜지션 시작 시점부터 i 번째 트랜지션이 시작될 때까지의 시간
+    // mStartOffsets[count] : 전체 트랜지션의 길이
+    private final long[] mStartOffsets;
+    private final long mInitialDelayInMillisec;
+    private final long mIntervalInMillisec;
+
+    TransitionTimeline(long[] durations, long initialDelayInMillisec, long intervalInMillisec) {
+        mStartOffsets = new long[durations.length + 1];
+        for (int i = 0; i < durations.length; i++) {
+            mStartOffsets[i + 1] = mStartOffsets[i] + durations[i];
+        }
+        mInitialDelayInMillisec = initialDelayInMillisec;
+        mIntervalInMillisec = intervalInMillisec;
+    }
+
+    public int getTransitionCount() {
+        return mStartOffsets.length - 1;
+    }
+
+    public long getTotalDuration() {
+        return mStartOffsets[getTransitionCount()];
+    }
+
+    public long getDuration(int transitionIndex) {
+        return mStartOffsets[transitionIndex + 1] - mStartOffsets[transitionIndex];
+    }
+
+    /**
+     * @return 뷰의 첫 트랜지션 시작 시점부터 transitionIndex 번째 트랜지션이 시작될 때까지의 시간
+     */
+    public long getStartOffset(int transitionIndex) {
+        return mStartOffsets[transitionIndex];
+    }
+
+    public long getInitialDelayInMillisec() {
+        return mInitialDelayInMillisec;
+    }
+
+    public long getIntervalInMillisec() {
+        return mIntervalInMillisec;
+    }
+
+    /**
+     * @return 시퀀스 시작 시점부터 key 번째 뷰의 첫 트랜지션이 시작될 때까지의 시간(initial delay 제외)
+     */
+    public long getViewStartOffset(int key) {
+        return mIntervalInMillisec * key;
+    }
+
+    /**
+     * @return 시퀀스 시작 시점부터 key 번째 뷰의 첫 트랜지션이 시작될 때까지의 시간(initial delay 포함)
+     */
+    public long getViewStartTime(int key) {
+        return mInitialDelayInMillisec + getViewStartOffset(key);
+    }
+
+    /**
+     * @return itemCount 개의 뷰가 모두 트랜지션을 끝낼 때까지 걸리는 시간(initial delay 포함)
+     */
+    public long getSequenceDuration(int itemCount) {
+        if (itemCount <= 0) {
+            return 0;
+        }
+        return mInitialDelayInMillisec + getViewStartOffset(itemCount - 1) + getTotalDuration();
+    }
+
+    /**
+     * @return 시퀀스 시작 후 timePast 만큼 지났을 때 key 번째 뷰의 트랜지션이 진행중이어야 할 경우 true
+     */
+    public boolean isInTransition(int key, long timePast) {
+        long viewStartTime = getViewStartTime(key);
+        return timePast > viewStartTime && timePast < viewStartTime + getTotalDuration();
+    }
+
+    /**
+     * 시퀀스 시작 후 timePast 만큼 지났을 때 트랜지션이 진행중인 뷰의 key 는 [getFirstActiveKey, getLastActiveKey] 범위에 있다.
+     * interval 이 일정하므로 뷰를 하나씩 보지 않고 O(1) 에 계산한다.
+     * @return 범위의 첫 key. 진행중인 뷰가 없을 경우 getLastActiveKey 보다 크다.
+     */
+    public int getFirstActiveKey(long timePast) {
+        // key * interval > endBound 인 첫 key
+        long endBound = timePast - mInitialDelayInMillisec - getTotalDuration();
+        if (mIntervalInMillisec == 0) {
+            return endBound < 0 ? 0 : Integer.MAX_VALUE;
+        }
+        long key = floorDiv(endBound, mIntervalInMillisec) + 1;
+        return (int) Math.min(Math.max(0, key), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return 진행중인 뷰의 key 범위의 마지막 key. 진행중인 뷰가 없을 경우 getFirstActiveKey 보다 작다.
+     * @see #getFirstActiveKey(long)
+     */
+    public int getLastActiveKey(long timePast) {
+        // key * interval < startBound 인 마지막 key. 범위 끝의 다음 key 를 구할 때 넘치지 않도록 MAX_VALUE - 1 까지만 쓴다.
+        long startBound = timePast - mInitialDelayInMillisec;
+        if (mIntervalInMillisec == 0) {
+            return startBound > 0 ? Integer.MAX_VALUE - 1 : -1;
+        }
+        long key = -floorDiv(-startBound, mIntervalInMillisec) - 1;
+        return (int) Math.min(Math.max(-1, key), Integer.MAX_VALUE - 1);
+    }
+
+    private static long floorDiv(long x, long y) {
+        long quotient = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            quotient--;
+        }
+        return quotient;
+    }
+
+    public boolean isLastTransition(int transitionIndex) {
+        return transitionIndex == getTransitionCount() - 1;
+    }
+
+    /**
+     * 뷰의 첫 트랜지션 시작 시점부터 timeSinceViewStart 만큼 지났을 때 진행중인 트랜지션을 찾는다.
+     * @return 진행중인 트랜지션의 index. 진행중인 트랜지션이 없을 경우 0
+     */
+    public int findTransitionIndex(long timeSinceViewStart) {
+        int count = getTransitionCount();
+        if (count == 0) {
+            return 0;
+        }
+        // timeSinceViewStart 보다 먼저 시작하는 마지막 트랜지션을 찾는다.
+        int index = Arrays.binarySearch(mStartOffsets, 0, count, timeSinceViewStart);
+        if (index >= 0) {
+            // 같은 시작 시간을 가진 트랜지션(길이 0) 이 여러개일 수 있으므로 첫번째 것 이전으로 이동
+            while (index > 0 && mStartOffsets[index - 1] == timeSinceViewStart) {
+                index--;
+            }
+            index--;
+        } else {
+            index = -index - 2;
+        }
+
+        if (index >= 0 && timeSinceViewStart < mStartOffsets[index + 1]) {
+            return index;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * timeSinceViewStart 를 시작 시간 이상, 끝 시간 미만으로 포함하는 트랜지션을 찾는다.
+     * findTransitionIndex 와 달리 트랜지션이 시작하는 시점도 그 트랜지션에 포함시킨다. seekTo 에서 사용한다.
+     * @return 트랜지션의 index. 범위를 벗어날 경우 첫번째 혹은 마지막 트랜지션의 index
+     */
+    public int getTransitionIndexAt(long timeSinceViewStart) {
+        // 시작 시간이 timeSinceViewStart 이하인 마지막 트랜지션. 길이 0 인 트랜지션은 건너뛰게 된다.
+        int low = 0;
+        int high = getTransitionCount() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (mStartOffsets[mid] <= timeSinceViewStart) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return Math.max(low, 0);
+    }
+}
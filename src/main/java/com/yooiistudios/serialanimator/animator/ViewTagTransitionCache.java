@@ -0,0 +1,60 @@
+package com.yooiistudios.serialanimator.animator;
+
+import android.view.View;
+
+import com.yooiistudios.serialanimator.R;
+
+import java.util.List;
+
+/**
+ * ViewTagTransitionCache
+ *  트랜지션 리스트를 뷰의 태그에 저장하는 캐시.
+ *  서플라이어가 만든 애니메이터는 보통 뷰를 참조하므로 캐시가 따로 들고 있으면 뷰가 수거되지 않는다.
+ *  뷰에 저장하면 리스트가 뷰와 함께 수거되므로 약한 참조 모드에서 사용한다.
+ *  모든 뷰를 찾아갈 수 없으므로 evictAll 은 세대를 올려 이전에 저장된 리스트를 무시하는 것으로 처리한다.
+ */
+class ViewTagTransitionCache<T> implements TransitionCache<T> {
+    private int mGeneration;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> get(View view) {
+        Object tag = view.getTag(R.id.serial_animator_transition_cache);
+        if (tag instanceof Entry) {
+            Entry entry = (Entry)tag;
+            if (entry.owner == this && entry.generation == mGeneration) {
+                return (List<T>)entry.transitions;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void put(View view, List<T> transitions) {
+        Object tag = view.getTag(R.id.serial_animator_transition_cache);
+        Entry entry = tag instanceof Entry ? (Entry)tag : new Entry();
+        entry.owner = this;
+        entry.generation = mGeneration;
+        entry.transitions = transitions;
+        view.setTag(R.id.serial_animator_transition_cache, entry);
+    }
+
+    @Override
+    public void evict(View view) {
+        Object tag = view.getTag(R.id.serial_animator_transition_cache);
+        if (tag instanceof Entry && ((Entry)tag).owner == this) {
+            view.setTag(R.id.serial_animator_transition_cache, null);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        mGeneration++;
+    }
+
+    private static class Entry {
+        private Object owner;
+        private int generation;
+        private List<?> transitions;
+    }
+}
@@ -0,0 +1,30 @@
+package com.yooiistudios.serialanimator.metrics;
+
+/**
+ * TransitionMetricsListener
+ *  트랜지션이 예정대로 시작되는지 확인하기 위한 리스너. SerialAnimator.setTransitionMetricsListener 로 등록한다.
+ *  모든 메서드는 트랜지션 경로 중간에 불리므로 할당이나 무거운 작업을 하지 않아야 한다.
+ */
+public interface TransitionMetricsListener {
+    /**
+     * @param scheduledTime 타임라인 상 트랜지션이 시작되었어야 할 시간(TimeSource 기준)
+     * @param actualTime 실제로 트랜지션이 시작된 시간(TimeSource 기준)
+     */
+    public void onTransitionStarted(int key, int transitionIndex, long scheduledTime, long actualTime);
+
+    /**
+     * 이미 시작되어 타임라인 상 아직 진행중이던 트랜지션이 취소되었을 때 불린다.
+     * 시작 전에 예약 단계에서 취소된 트랜지션은 포함하지 않는다.
+     */
+    public void onTransitionCancelled(int key, int transitionIndex);
+
+    /**
+     * 예약된 트랜지션이 실행될 시점에 이미 무효가 되었거나 대상 뷰가 없어 버려졌을 때 불린다.
+     */
+    public void onTransitionDropped();
+
+    /**
+     * 트랜지션이 끝났지만 취소/리셋으로 인해 AnimationListener 에 전달하지 않았을 때 불린다.
+     */
+    public void onCallbackIgnored(int key, int transitionIndex);
+}
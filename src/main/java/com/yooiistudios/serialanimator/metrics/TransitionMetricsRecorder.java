@@ -0,0 +1,165 @@
+package com.yooiistudios.serialanimator.metrics;
+
+import java.util.Arrays;
+
+/**
+ * TransitionMetricsRecorder
+ *  TransitionMetricsListener 의 기본 구현. 생성할 때 잡아 둔 배열에만 기록하므로
+ *  기록하는 동안에는 할당이 일어나지 않는다.
+ *
+ *  최근 트랜지션 시작 기록은 링 버퍼에 남기고, 지연 시간은 2의 거듭제곱 단위 히스토그램으로 모은다.
+ *  bucket 0 은 예정 시간 이전 또는 정시에 시작된 경우, bucket i 는 [2^(i-1), 2^i) ms 만큼 늦은 경우이며
+ *  마지막 bucket 에는 그보다 더 늦은 경우가 모두 들어간다.
+ */
+public class TransitionMetricsRecorder implements TransitionMetricsListener {
+    public static final int DEFAULT_SAMPLE_CAPACITY = 256;
+    public static final int BUCKET_COUNT = 16;
+
+    private final int[] mSampleKeys;
+    private final int[] mSampleTransitionIndices;
+    private final long[] mSampleScheduledTimes;
+    private final long[] mSampleActualTimes;
+    private int mSampleHead;
+    private int mSampleCount;
+
+    private final long[] mLatenessBuckets = new long[BUCKET_COUNT];
+    private long mStartedCount;
+    private long mTotalLateness;
+    private long mMaxLateness;
+    private long mCancelledCount;
+    private long mDroppedCount;
+    private long mIgnoredCallbackCount;
+
+    public TransitionMetricsRecorder() {
+        this(DEFAULT_SAMPLE_CAPACITY);
+    }
+
+    public TransitionMetricsRecorder(int sampleCapacity) {
+        if (sampleCapacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        mSampleKeys = new int[sampleCapacity];
+        mSampleTransitionIndices = new int[sampleCapacity];
+        mSampleScheduledTimes = new long[sampleCapacity];
+        mSampleActualTimes = new long[sampleCapacity];
+    }
+
+    @Override
+    public void onTransitionStarted(int key, int transitionIndex, long scheduledTime, long actualTime) {
+        mSampleKeys[mSampleHead] = key;
+        mSampleTransitionIndices[mSampleHead] = transitionIndex;
+        mSampleScheduledTimes[mSampleHead] = scheduledTime;
+        mSampleActualTimes[mSampleHead] = actualTime;
+        mSampleHead = (mSampleHead + 1) % mSampleKeys.length;
+        mSampleCount = Math.min(mSampleCount + 1, mSampleKeys.length);
+
+        long lateness = Math.max(0, actualTime - scheduledTime);
+        mLatenessBuckets[getBucketIndex(lateness)]++;
+        mStartedCount++;
+        mTotalLateness += lateness;
+        mMaxLateness = Math.max(mMaxLateness, lateness);
+    }
+
+    @Override
+    public void onTransitionCancelled(int key, int transitionIndex) {
+        mCancelledCount++;
+    }
+
+    @Override
+    public void onTransitionDropped() {
+        mDroppedCount++;
+    }
+
+    @Override
+    public void onCallbackIgnored(int key, int transitionIndex) {
+        mIgnoredCallbackCount++;
+    }
+
+    public static int getBucketIndex(long lateness) {
+        if (lateness <= 0) {
+            return 0;
+        }
+        return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(lateness));
+    }
+
+    /**
+     * @return bucket 에 포함되는 지연 시간의 하한(ms)
+     */
+    public static long getBucketLowerBound(int bucketIndex) {
+        return bucketIndex == 0 ? 0 : 1L << (bucketIndex - 1);
+    }
+
+    public long getLatenessCount(int bucketIndex) {
+        return mLatenessBuckets[bucketIndex];
+    }
+
+    /**
+     * @return 링 버퍼에 남아 있는 시작 기록의 수
+     */
+    public int getSampleCount() {
+        return mSampleCount;
+    }
+
+    /**
+     * position 0 이 가장 오래된 기록이다.
+     */
+    public int getSampleKey(int position) {
+        return mSampleKeys[toSampleIndex(position)];
+    }
+
+    public int getSampleTransitionIndex(int position) {
+        return mSampleTransitionIndices[toSampleIndex(position)];
+    }
+
+    public long getSampleScheduledTime(int position) {
+        return mSampleScheduledTimes[toSampleIndex(position)];
+    }
+
+    public long getSampleActualTime(int position) {
+        return mSampleActualTimes[toSampleIndex(position)];
+    }
+
+    private int toSampleIndex(int position) {
+        if (position < 0 || position >= mSampleCount) {
+            throw new IndexOutOfBoundsException();
+        }
+        int capacity = mSampleKeys.length;
+        return (mSampleHead - mSampleCount + position + capacity) % capacity;
+    }
+
+    public long getStartedCount() {
+        return mStartedCount;
+    }
+
+    public long getAverageLateness() {
+        return mStartedCount > 0 ? mTotalLateness / mStartedCount : 0;
+    }
+
+    public long getMaxLateness() {
+        return mMaxLateness;
+    }
+
+    public long getCancelledCount() {
+        return mCancelledCount;
+    }
+
+    public long getDroppedCount() {
+        return mDroppedCount;
+    }
+
+    public long getIgnoredCallbackCount() {
+        return mIgnoredCallbackCount;
+    }
+
+    public void reset() {
+        mSampleHead = 0;
+        mSampleCount = 0;
+        Arrays.fill(mLatenessBuckets, 0);
+        mStartedCount = 0;
+        mTotalLateness = 0;
+        mMaxLateness = 0;
+        mCancelledCount = 0;
+        mDroppedCount = 0;
+        mIgnoredCallbackCount = 0;
+    }
+}
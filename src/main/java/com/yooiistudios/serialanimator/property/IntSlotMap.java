@@ -0,0 +1,144 @@
+package com.yooiistudios.serialanimator.property;
+
+import java.util.Arrays;
+
+/**
+ * IntSlotMap
+ *  int key 를 slot 으로 매핑하는 open addressing 해시맵.
+ *  boxing 없이 O(1) 에 조회/삽입/삭제한다.
+ */
+class IntSlotMap {
+    public static final int NO_SLOT = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] mKeys;
+    // 비어 있는 칸은 NO_SLOT
+    private int[] mSlots;
+    private int mSize;
+    private int mMask;
+    private int mResizeThreshold;
+
+    public IntSlotMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public int get(int key) {
+        int index = hash(key);
+        while (mSlots[index] != NO_SLOT) {
+            if (mKeys[index] == key) {
+                return mSlots[index];
+            }
+            index = (index + 1) & mMask;
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * @return key 에 이전에 매핑되어 있던 slot. 없었을 경우 NO_SLOT
+     */
+    public int put(int key, int slot) {
+        int index = hash(key);
+        while (mSlots[index] != NO_SLOT) {
+            if (mKeys[index] == key) {
+                int previousSlot = mSlots[index];
+                mSlots[index] = slot;
+                return previousSlot;
+            }
+            index = (index + 1) & mMask;
+        }
+        mKeys[index] = key;
+        mSlots[index] = slot;
+        if (++mSize > mResizeThreshold) {
+            rehash(mKeys.length * 2);
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * @return 제거된 slot. 없었을 경우 NO_SLOT
+     */
+    public int remove(int key) {
+        int index = hash(key);
+        while (mSlots[index] != NO_SLOT) {
+            if (mKeys[index] == key) {
+                int removedSlot = mSlots[index];
+                shiftBackFrom(index);
+                mSize--;
+                return removedSlot;
+            }
+            index = (index + 1) & mMask;
+        }
+        return NO_SLOT;
+    }
+
+    public void clear() {
+        Arrays.fill(mSlots, NO_SLOT);
+        mSize = 0;
+    }
+
+    // tombstone 을 남기지 않기 위해 삭제된 칸 뒤의 항목들을 당겨온다.
+    private void shiftBackFrom(int emptyIndex) {
+        int index = emptyIndex;
+        while (true) {
+            index = (index + 1) & mMask;
+            if (mSlots[index] == NO_SLOT) {
+                break;
+            }
+            int home = hash(mKeys[index]);
+            // home 이 (emptyIndex, index] 구간에 있지 않으면 emptyIndex 로 옮길 수 있다.
+            boolean movable = emptyIndex <= index
+                    ? (home <= emptyIndex || home > index)
+                    : (home <= emptyIndex && home > index);
+            if (movable) {
+                mKeys[emptyIndex] = mKeys[index];
+                mSlots[emptyIndex] = mSlots[index];
+                emptyIndex = index;
+            }
+        }
+        mSlots[emptyIndex] = NO_SLOT;
+    }
+
+    private int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mMask;
+    }
+
+    private void allocate(int capacity) {
+        mKeys = new int[capacity];
+        mSlots = new int[capacity];
+        Arrays.fill(mSlots, NO_SLOT);
+        mMask = capacity - 1;
+        mResizeThreshold = (int)(capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * size 개의 항목이 들어갈 때까지 다시 해시하지 않도록 한 번에 늘려 둔다.
+     */
+    public void ensureCapacity(int size) {
+        int capacity = mKeys.length;
+        while (size > (int)(capacity * LOAD_FACTOR)) {
+            capacity *= 2;
+        }
+        if (capacity != mKeys.length) {
+            rehash(capacity);
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = mKeys;
+        int[] oldSlots = mSlots;
+        allocate(newCapacity);
+        mSize = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldSlots[i] != NO_SLOT) {
+                put(oldKeys[i], oldSlots[i]);
+            }
+        }
+    }
+}
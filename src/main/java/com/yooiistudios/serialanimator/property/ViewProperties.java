@@ -1,81 +1,393 @@
 package com.yooiistudios.serialanimator.property;
 
 import android.support.annotation.Nullable;
-import android.util.SparseArray;
 import android.view.View;
 
-import com.google.common.collect.HashBiMap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Arrays;
 
 /**
  * Created by Dongheyon Jeong in SequentialAnimationTest from Yooii Studios Co., LTD. on 15. 2. 10.
  *
  * ViewProperties
- *  ViewProperty 의 SparseArray 를 용도에 맞게 래핑한 클래스
+ *  key(어댑터 포지션) 와 View 로 ViewProperty 를 찾을 수 있도록 관리하는 클래스.
+ *  ViewProperty 는 slot 에 저장하고, key/View 는 각각 slot 으로 매핑해 O(1) 에 조회/삭제한다.
+ *  index 로 조회할 때는 key 의 ascending order 로 결과값이 나온다.
  */
 public class ViewProperties {
-    private final SparseArray<ViewProperty> mViewProperties;
-//    private final HashSet<View> mViewHashSet;
-    private final HashBiMap<View, Integer> mViewMap;
+    private static final int INITIAL_SLOT_CAPACITY = 16;
+    private static final int NO_POSITION = -1;
+
+    private final IntSlotMap mKeyMap;
+    private final ViewSlotMap mViewMap;
+
+    // slot 으로 ViewProperty 를 찾기 위한 배열. 제거된 ViewProperty 의 slot 은 재사용된다.
+    private ViewProperty[] mSlots;
+    private int[] mSlotKeys;
+    private int[] mFreeSlots;
+    private int mFreeSlotCount;
+    private int mSlotCount;
+
+    // key 순으로 정렬된 slot 배열. 삭제된 자리는 NO_POSITION 으로 남겨 두었다가 조회할 때 정리한다.
+    private int[] mOrderedSlots;
+    private int[] mOrderedPositions;
+    private int mOrderedCount;
+    private int mLastOrderedKey;
+    private boolean mNeedsCompaction;
+    private boolean mNeedsSort;
+    private long[] mSortBuffer;
+
+    // null 이 아닐 경우 뷰를 약하게 참조하고, 수거된 뷰는 이 큐로 들어온다.
+    private ReferenceQueue<View> mReferenceQueue;
 
     public ViewProperties() {
-        mViewProperties = new SparseArray<>();
-//        mViewHashSet = new HashSet<>();
-        mViewMap = HashBiMap.create();
+        mKeyMap = new IntSlotMap();
+        mViewMap = new ViewSlotMap();
+        mSlots = new ViewProperty[INITIAL_SLOT_CAPACITY];
+        mSlotKeys = new int[INITIAL_SLOT_CAPACITY];
+        mFreeSlots = new int[INITIAL_SLOT_CAPACITY];
+        mOrderedSlots = new int[INITIAL_SLOT_CAPACITY];
+        mOrderedPositions = new int[INITIAL_SLOT_CAPACITY];
     }
 
     public int size() {
-        return mViewProperties.size();
+        return mKeyMap.size();
+    }
+
+    /**
+     * 뷰를 약하게 참조할지 정한다. 등록된 ViewProperty 가 없을 때만 바꿀 수 있다.
+     * 약한 참조 모드에서는 수거된 뷰의 ViewProperty 를 pollCollectedSlot 으로 찾아 제거해야 한다.
+     */
+    public void setWeakViewReferences(boolean weak) {
+        if (weak == isUsingWeakViewReferences()) {
+            return;
+        }
+        if (size() > 0) {
+            throw new IllegalStateException("ViewProperties must be empty.");
+        }
+        mReferenceQueue = weak ? new ReferenceQueue<View>() : null;
+    }
+
+    public boolean isUsingWeakViewReferences() {
+        return mReferenceQueue != null;
+    }
+
+    /**
+     * @return 뷰가 수거되었지만 아직 등록되어 있는 ViewProperty 의 slot. 없을 경우 ViewProperty.INVALID_SLOT
+     */
+    public int pollCollectedSlot() {
+        if (mReferenceQueue == null) {
+            return ViewProperty.INVALID_SLOT;
+        }
+        Reference<? extends View> reference;
+        while ((reference = mReferenceQueue.poll()) != null) {
+            int slot = ((ViewReference)reference).getSlot();
+            ViewProperty viewProperty = getViewPropertyBySlot(slot);
+            // 이미 제거되었거나 다른 뷰로 바뀐 slot 은 무시한다.
+            if (viewProperty != null && viewProperty.getViewReference() == reference) {
+                return slot;
+            }
+        }
+        return ViewProperty.INVALID_SLOT;
     }
 
     public ViewProperty getViewPropertyByIndex(int index) {
-        int key = mViewProperties.keyAt(index);
-        return getViewPropertyByKey(key);
+        ensureOrdered();
+        return mSlots[mOrderedSlots[index]];
     }
 
     public ViewProperty getViewPropertyByKey(int key) {
-        return mViewProperties.get(key);
+        return getViewPropertyBySlot(mKeyMap.get(key));
+    }
+
+    @Nullable
+    public ViewProperty getViewPropertyBySlot(int slot) {
+        return slot >= 0 && slot < mSlotCount ? mSlots[slot] : null;
+    }
+
+    /**
+     * @return 지금까지 할당된 slot 의 최대값 + 1
+     */
+    public int getSlotCapacity() {
+        return mSlotCount;
     }
 
     @Nullable
     public ViewProperty getViewPropertyByView(View view) {
-        Integer key = mViewMap.get(view);
-        return key != null ? getViewPropertyByKey(key) : null;
+        return view != null ? getViewPropertyBySlot(mViewMap.get(view)) : null;
     }
 
     public void putViewPropertyByKey(int key, ViewProperty viewProperty) {
         View view = viewProperty.getView();
-        if (isContainingView(view)) {
-            Integer previousKey = getKeyOfView(view);
-            removeViewPropertyByKey(previousKey);
+        removeViewPropertyByView(view);
+        removeViewPropertyByKey(key);
+
+        int slot = acquireSlot(viewProperty, key);
+        mKeyMap.put(key, slot);
+        holdView(viewProperty, view);
+        appendToOrder(slot, key);
+    }
+
+    /**
+     * count 개의 ViewProperty 를 더 넣을 때까지 slot 배열과 해시맵이 늘어나지 않도록 한 번에 늘려 둔다.
+     * 한 페이지의 뷰를 한꺼번에 등록하기 전에 불러준다.
+     */
+    public void ensureCapacity(int count) {
+        int size = size() + count;
+        mKeyMap.ensureCapacity(size);
+        mViewMap.ensureCapacity(size);
+
+        int slotCapacity = mSlotCount + Math.max(0, count - mFreeSlotCount);
+        if (slotCapacity > mSlots.length) {
+            mSlots = Arrays.copyOf(mSlots, slotCapacity);
+            mSlotKeys = Arrays.copyOf(mSlotKeys, slotCapacity);
+            mFreeSlots = Arrays.copyOf(mFreeSlots, slotCapacity);
+            mOrderedPositions = Arrays.copyOf(mOrderedPositions, slotCapacity);
+        }
+        if (mOrderedCount + count > mOrderedSlots.length) {
+            compactOrder();
+            if (mOrderedCount + count > mOrderedSlots.length) {
+                mOrderedSlots = Arrays.copyOf(mOrderedSlots, mOrderedCount + count);
+            }
         }
-        mViewProperties.put(key, viewProperty);
-        mViewMap.forcePut(view, key);
     }
 
     public boolean isContainingKey(int key) {
-        return getViewPropertyByKey(key) != null;
+        return mKeyMap.get(key) != IntSlotMap.NO_SLOT;
     }
 
     public boolean isContainingView(View view) {
-        return getKeyOfView(view) != null;
-    }
-
-    private Integer getKeyOfView(View view) {
-        return mViewMap.get(view);
+        return view != null && mViewMap.get(view) != ViewSlotMap.NO_SLOT;
     }
 
     public void removeViewPropertyByKey(int key) {
-        mViewProperties.remove(key);
-        ViewProperty viewProperty = getViewPropertyByKey(key);
-        if (viewProperty != null) {
-            mViewMap.remove(viewProperty.getView());
+        int slot = mKeyMap.remove(key);
+        if (slot != IntSlotMap.NO_SLOT) {
+            ViewProperty viewProperty = mSlots[slot];
+            releaseView(viewProperty);
+            removeFromOrder(slot);
+            releaseSlot(viewProperty);
         }
     }
 
     public void removeViewPropertyByView(View view) {
-        if (isContainingView(view)) {
-            Integer previousKey = getKeyOfView(view);
-            removeViewPropertyByKey(previousKey);
+        if (view == null) {
+            return;
+        }
+        int slot = mViewMap.get(view);
+        if (slot != ViewSlotMap.NO_SLOT) {
+            removeViewPropertyByKey(mSlotKeys[slot]);
+        }
+    }
+
+    /**
+     * @return key 이상인 첫 번째 key 의 index. 없을 경우 size()
+     */
+    public int getFirstIndexFromKey(int key) {
+        ensureOrdered();
+        int low = 0;
+        int high = mOrderedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mSlotKeys[mOrderedSlots[mid]] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * fromKey 이상인 모든 key 를 delta 만큼 옮긴다. 어댑터에 아이템이 추가/삭제되었을 때 사용한다.
+     * 옮겨질 자리에 있던 key 는 미리 제거되어 있어야 한다.
+     */
+    public void shiftKeys(int fromKey, int delta) {
+        shiftKeyRange(fromKey, Integer.MAX_VALUE, delta);
+    }
+
+    /**
+     * fromKey 의 ViewProperty 를 toKey 로 옮기고 그 사이의 key 들을 한 칸씩 당기거나 민다.
+     */
+    public void moveKey(int fromKey, int toKey) {
+        if (fromKey == toKey) {
+            return;
+        }
+        int slot = mKeyMap.remove(fromKey);
+        if (slot != IntSlotMap.NO_SLOT) {
+            removeFromOrder(slot);
+        }
+
+        if (fromKey < toKey) {
+            shiftKeyRange(fromKey + 1, toKey + 1, -1);
+        } else {
+            shiftKeyRange(toKey, fromKey, 1);
+        }
+
+        if (slot != IntSlotMap.NO_SLOT) {
+            mSlotKeys[slot] = toKey;
+            mSlots[slot].setViewIndex(toKey);
+            mKeyMap.put(toKey, slot);
+            appendToOrder(slot, toKey);
+        }
+    }
+
+    /**
+     * [fromKey, toKey) 범위의 key 를 delta 만큼 옮긴다. 범위 안의 key 끼리의 순서는 바뀌지 않는다.
+     */
+    private void shiftKeyRange(int fromKey, int toKey, int delta) {
+        int start = getFirstIndexFromKey(fromKey);
+        int end = toKey == Integer.MAX_VALUE ? mOrderedCount : getFirstIndexFromKey(toKey);
+        if (start >= end) {
+            return;
+        }
+        // 옮겨진 key 가 아직 옮기지 않은 key 와 겹칠 수 있으므로 모두 지운 뒤 다시 넣는다.
+        for (int i = start; i < end; i++) {
+            mKeyMap.remove(mSlotKeys[mOrderedSlots[i]]);
+        }
+        for (int i = start; i < end; i++) {
+            int slot = mOrderedSlots[i];
+            int key = mSlotKeys[slot] + delta;
+            mSlotKeys[slot] = key;
+            mSlots[slot].setViewIndex(key);
+            mKeyMap.put(key, slot);
+        }
+        mLastOrderedKey = mSlotKeys[mOrderedSlots[mOrderedCount - 1]];
+    }
+
+    /**
+     * 등록된 ViewProperty 의 view 가 바뀌었을 때 View 로 조회할 수 있도록 갱신한다.
+     */
+    public void updateView(ViewProperty viewProperty, View view) {
+        int slot = viewProperty.getSlot();
+        if (slot == ViewProperty.INVALID_SLOT || mSlots[slot] != viewProperty) {
+            viewProperty.setView(view);
+            return;
+        }
+        releaseView(viewProperty);
+        holdView(viewProperty, view);
+    }
+
+    private void holdView(ViewProperty viewProperty, View view) {
+        if (view == null) {
+            viewProperty.setView(null);
+            return;
+        }
+        int slot = viewProperty.getSlot();
+        if (mReferenceQueue != null) {
+            ViewReference viewReference = new ViewReference(view, slot, mReferenceQueue);
+            viewProperty.setViewReference(viewReference);
+            mViewMap.put(viewReference, slot);
+        } else {
+            viewProperty.setView(view);
+            mViewMap.put(view, slot);
+        }
+    }
+
+    private void releaseView(ViewProperty viewProperty) {
+        int slot = viewProperty.getSlot();
+        ViewReference viewReference = viewProperty.getViewReference();
+        if (viewReference != null) {
+            mViewMap.remove(viewReference);
+            return;
+        }
+        View view = viewProperty.getView();
+        if (view != null && mViewMap.get(view) == slot) {
+            mViewMap.remove(view);
+        }
+    }
+
+    private int acquireSlot(ViewProperty viewProperty, int key) {
+        int slot;
+        if (mFreeSlotCount > 0) {
+            slot = mFreeSlots[--mFreeSlotCount];
+        } else {
+            if (mSlotCount == mSlots.length) {
+                int newCapacity = mSlotCount * 2;
+                mSlots = Arrays.copyOf(mSlots, newCapacity);
+                mSlotKeys = Arrays.copyOf(mSlotKeys, newCapacity);
+                mFreeSlots = Arrays.copyOf(mFreeSlots, newCapacity);
+                mOrderedPositions = Arrays.copyOf(mOrderedPositions, newCapacity);
+            }
+            slot = mSlotCount++;
+        }
+        mSlots[slot] = viewProperty;
+        mSlotKeys[slot] = key;
+        viewProperty.setSlot(slot);
+
+        return slot;
+    }
+
+    private void releaseSlot(ViewProperty viewProperty) {
+        int slot = viewProperty.getSlot();
+        if (slot != ViewProperty.INVALID_SLOT && mSlots[slot] == viewProperty) {
+            mSlots[slot] = null;
+            mFreeSlots[mFreeSlotCount++] = slot;
+        }
+        viewProperty.setSlot(ViewProperty.INVALID_SLOT);
+    }
+
+    private void appendToOrder(int slot, int key) {
+        if (mOrderedCount == mOrderedSlots.length) {
+            // 삭제된 자리가 있다면 늘리기 전에 먼저 정리한다.
+            compactOrder();
+            if (mOrderedCount == mOrderedSlots.length) {
+                mOrderedSlots = Arrays.copyOf(mOrderedSlots, mOrderedCount * 2);
+            }
+        }
+        // 대부분 key 의 ascending order 로 들어오므로 이 경우에는 정렬하지 않는다.
+        if (mOrderedCount == 0 || key > mLastOrderedKey) {
+            mLastOrderedKey = key;
+        } else {
+            mNeedsSort = true;
+        }
+        mOrderedPositions[slot] = mOrderedCount;
+        mOrderedSlots[mOrderedCount++] = slot;
+    }
+
+    private void removeFromOrder(int slot) {
+        mOrderedSlots[mOrderedPositions[slot]] = NO_POSITION;
+        mNeedsCompaction = true;
+    }
+
+    private void ensureOrdered() {
+        if (mNeedsCompaction) {
+            compactOrder();
+        }
+        if (mNeedsSort) {
+            sortOrder();
+        }
+    }
+
+    private void compactOrder() {
+        int count = 0;
+        for (int i = 0; i < mOrderedCount; i++) {
+            int slot = mOrderedSlots[i];
+            if (slot != NO_POSITION) {
+                mOrderedPositions[slot] = count;
+                mOrderedSlots[count++] = slot;
+            }
+        }
+        mOrderedCount = count;
+        mNeedsCompaction = false;
+    }
+
+    private void sortOrder() {
+        if (mSortBuffer == null || mSortBuffer.length < mOrderedCount) {
+            mSortBuffer = new long[mOrderedSlots.length];
+        }
+        // key 를 상위 32비트, slot 을 하위 32비트에 넣어 boxing 없이 key 순으로 정렬한다.
+        for (int i = 0; i < mOrderedCount; i++) {
+            int slot = mOrderedSlots[i];
+            mSortBuffer[i] = ((long)mSlotKeys[slot] << 32) | (slot & 0xFFFFFFFFL);
+        }
+        Arrays.sort(mSortBuffer, 0, mOrderedCount);
+        for (int i = 0; i < mOrderedCount; i++) {
+            int slot = (int)mSortBuffer[i];
+            mOrderedPositions[slot] = i;
+            mOrderedSlots[i] = slot;
         }
+        mNeedsSort = false;
     }
 }
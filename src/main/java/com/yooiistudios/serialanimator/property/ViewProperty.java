@@ -13,10 +13,15 @@ public class ViewProperty implements Cloneable, AbstractViewProperty {
         public void onAnimationEnd(ViewProperty property);
     }
     private View mView;
+    // 약한 참조 모드의 ViewProperties 에 등록되었을 때만 사용한다.
+    private ViewReference mViewReference;
     private AnimationListener mAnimationListener;
     private int mViewIndex;
+    private int mSlot = INVALID_SLOT;
     private TransitionInfo mTransitionInfo;
 
+    public static final int INVALID_SLOT = -1;
+
     public ViewProperty() {
         mTransitionInfo = TransitionInfo.makeDefault();
     }
@@ -31,6 +36,11 @@ public class ViewProperty implements Cloneable, AbstractViewProperty {
         setTransitionInfo(resetTransitionInfo);
     }
 
+    /**
+     * @deprecated 애니메이터는 더 이상 스텝마다 ViewProperty 를 복제하지 않고,
+     * 트랜지션 진행 상태를 slot 단위로 따로 관리한다.
+     */
+    @Deprecated
     public AbstractViewProperty makeShallowCloneWithDeepTransitionInfoCloneWhenPossible() {
         AbstractViewProperty abstractViewProperty;
         try {
@@ -49,11 +59,24 @@ public class ViewProperty implements Cloneable, AbstractViewProperty {
     }
 
     public View getView() {
-        return mView;
+        return mViewReference != null ? mViewReference.get() : mView;
     }
 
     public void setView(View view) {
         mView = view;
+        mViewReference = null;
+    }
+
+    ViewReference getViewReference() {
+        return mViewReference;
+    }
+
+    /**
+     * 뷰를 약하게 참조하도록 바꾼다. 뷰가 수거되면 getView() 는 null 을 반환한다.
+     */
+    void setViewReference(ViewReference viewReference) {
+        mView = null;
+        mViewReference = viewReference;
     }
 
     // TODO rename to transition
@@ -82,6 +105,18 @@ public class ViewProperty implements Cloneable, AbstractViewProperty {
         mViewIndex = viewIndex;
     }
 
+    /**
+     * ViewProperties 에 등록될 때 할당되는 값으로, 애니메이터가 트랜지션 상태를 저장하는 위치.
+     * 등록되지 않았을 경우 INVALID_SLOT
+     */
+    public int getSlot() {
+        return mSlot;
+    }
+
+    void setSlot(int slot) {
+        mSlot = slot;
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -0,0 +1,30 @@
+package com.yooiistudios.serialanimator.property;
+
+import android.view.View;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * ViewReference
+ *  약한 참조 모드에서 ViewProperty 가 뷰를 들고 있는 방식.
+ *  뷰가 수거되면 ReferenceQueue 로 들어오므로, 어떤 slot 의 뷰였는지와 해시 위치를 함께 기억해 둔다.
+ */
+class ViewReference extends WeakReference<View> {
+    private final int mSlot;
+    private final int mIdentityHashCode;
+
+    public ViewReference(View view, int slot, ReferenceQueue<? super View> queue) {
+        super(view, queue);
+        mSlot = slot;
+        mIdentityHashCode = System.identityHashCode(view);
+    }
+
+    public int getSlot() {
+        return mSlot;
+    }
+
+    public int getIdentityHashCode() {
+        return mIdentityHashCode;
+    }
+}
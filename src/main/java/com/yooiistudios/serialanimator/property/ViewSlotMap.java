@@ -0,0 +1,195 @@
+package com.yooiistudios.serialanimator.property;
+
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * ViewSlotMap
+ *  View 를 slot 으로 매핑하는 open addressing 해시맵.
+ *  View 의 equals/hashCode 대신 identity 로 비교한다.
+ *  약한 참조 모드에서는 View 대신 ViewReference 를 들고 있어 뷰를 붙잡지 않는다.
+ */
+class ViewSlotMap {
+    public static final int NO_SLOT = IntSlotMap.NO_SLOT;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    // View 또는 ViewReference. 비어 있는 칸은 null
+    private Object[] mEntries;
+    // 수거된 뷰의 항목도 제자리를 찾을 수 있도록 넣을 때의 identity hash 를 기억해 둔다.
+    private int[] mHashCodes;
+    private int[] mSlots;
+    private int mSize;
+    private int mMask;
+    private int mResizeThreshold;
+
+    public ViewSlotMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public int get(View view) {
+        int index = indexOf(System.identityHashCode(view));
+        Object candidate;
+        while ((candidate = mEntries[index]) != null) {
+            if (resolve(candidate) == view) {
+                return mSlots[index];
+            }
+            index = (index + 1) & mMask;
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * @return view 에 이전에 매핑되어 있던 slot. 없었을 경우 NO_SLOT
+     */
+    public int put(View view, int slot) {
+        return putEntry(view, view, System.identityHashCode(view), slot);
+    }
+
+    public int put(ViewReference reference, int slot) {
+        return putEntry(reference, reference.get(), reference.getIdentityHashCode(), slot);
+    }
+
+    private int putEntry(Object entry, View view, int hashCode, int slot) {
+        int index = indexOf(hashCode);
+        Object candidate;
+        while ((candidate = mEntries[index]) != null) {
+            if (resolve(candidate) == view) {
+                int previousSlot = mSlots[index];
+                mEntries[index] = entry;
+                mSlots[index] = slot;
+                return previousSlot;
+            }
+            index = (index + 1) & mMask;
+        }
+        mEntries[index] = entry;
+        mHashCodes[index] = hashCode;
+        mSlots[index] = slot;
+        if (++mSize > mResizeThreshold) {
+            rehash(mEntries.length * 2);
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * @return 제거된 slot. 없었을 경우 NO_SLOT
+     */
+    public int remove(View view) {
+        int index = indexOf(System.identityHashCode(view));
+        Object candidate;
+        while ((candidate = mEntries[index]) != null) {
+            if (resolve(candidate) == view) {
+                return removeAt(index);
+            }
+            index = (index + 1) & mMask;
+        }
+        return NO_SLOT;
+    }
+
+    /**
+     * 뷰가 이미 수거되었더라도 reference 로 넣은 항목을 제거한다.
+     * @return 제거된 slot. 없었을 경우 NO_SLOT
+     */
+    public int remove(ViewReference reference) {
+        int index = indexOf(reference.getIdentityHashCode());
+        Object candidate;
+        while ((candidate = mEntries[index]) != null) {
+            if (candidate == reference) {
+                return removeAt(index);
+            }
+            index = (index + 1) & mMask;
+        }
+        return NO_SLOT;
+    }
+
+    public void clear() {
+        Arrays.fill(mEntries, null);
+        mSize = 0;
+    }
+
+    private int removeAt(int index) {
+        int removedSlot = mSlots[index];
+        shiftBackFrom(index);
+        mSize--;
+        return removedSlot;
+    }
+
+    private static View resolve(Object entry) {
+        return entry instanceof ViewReference ? ((ViewReference)entry).get() : (View)entry;
+    }
+
+    // tombstone 을 남기지 않기 위해 삭제된 칸 뒤의 항목들을 당겨온다.
+    private void shiftBackFrom(int emptyIndex) {
+        int index = emptyIndex;
+        while (true) {
+            index = (index + 1) & mMask;
+            if (mEntries[index] == null) {
+                break;
+            }
+            int home = indexOf(mHashCodes[index]);
+            // home 이 (emptyIndex, index] 구간에 있지 않으면 emptyIndex 로 옮길 수 있다.
+            boolean movable = emptyIndex <= index
+                    ? (home <= emptyIndex || home > index)
+                    : (home <= emptyIndex && home > index);
+            if (movable) {
+                mEntries[emptyIndex] = mEntries[index];
+                mHashCodes[emptyIndex] = mHashCodes[index];
+                mSlots[emptyIndex] = mSlots[index];
+                emptyIndex = index;
+            }
+        }
+        mEntries[emptyIndex] = null;
+    }
+
+    private int indexOf(int identityHashCode) {
+        int h = identityHashCode * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mMask;
+    }
+
+    private void allocate(int capacity) {
+        mEntries = new Object[capacity];
+        mHashCodes = new int[capacity];
+        mSlots = new int[capacity];
+        mMask = capacity - 1;
+        mResizeThreshold = (int)(capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * size 개의 항목이 들어갈 때까지 다시 해시하지 않도록 한 번에 늘려 둔다.
+     */
+    public void ensureCapacity(int size) {
+        int capacity = mEntries.length;
+        while (size > (int)(capacity * LOAD_FACTOR)) {
+            capacity *= 2;
+        }
+        if (capacity != mEntries.length) {
+            rehash(capacity);
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        Object[] oldEntries = mEntries;
+        int[] oldHashCodes = mHashCodes;
+        int[] oldSlots = mSlots;
+        allocate(newCapacity);
+        for (int i = 0; i < oldEntries.length; i++) {
+            Object entry = oldEntries[i];
+            if (entry != null) {
+                // 수거된 뷰의 항목도 ViewProperties 가 reference 로 지울 수 있도록 그대로 옮긴다.
+                int index = indexOf(oldHashCodes[i]);
+                while (mEntries[index] != null) {
+                    index = (index + 1) & mMask;
+                }
+                mEntries[index] = entry;
+                mHashCodes[index] = oldHashCodes[i];
+                mSlots[index] = oldSlots[i];
+            }
+        }
+    }
+}
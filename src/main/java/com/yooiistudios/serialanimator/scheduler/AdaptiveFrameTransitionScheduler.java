@@ -0,0 +1,65 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+/**
+ * AdaptiveFrameTransitionScheduler
+ *  프레임이 밀리는 것을 감지하면 프레임당 시작 수를 줄이는 FrameTransitionScheduler.
+ *  시작이 다음 프레임으로 넘어간 경우 다음 프레임까지의 간격이 두 프레임 이상 벌어지면 밀린 것으로 보고
+ *  프레임당 시작 수를 반으로 줄이고, 제 때 온 프레임마다 하나씩 다시 늘린다.
+ *  결과적으로 한 번에 몰린 시작들이 더 많은 프레임에 나뉘어 시작 간격이 넓어진다.
+ */
+public class AdaptiveFrameTransitionScheduler extends FrameTransitionScheduler {
+    private static final long FRAME_INTERVAL_MILLIS = 16;
+    private static final long FRAME_DROP_THRESHOLD_MILLIS = FRAME_INTERVAL_MILLIS * 2;
+    private static final int DEFAULT_MIN_STARTS_PER_FRAME = 1;
+    private static final int DEFAULT_MAX_STARTS_PER_FRAME = 32;
+    private static final long NO_DEFERRED_FRAME = -1;
+
+    private final int mMinStartsPerFrame;
+    private final int mMaxStartsPerFrame;
+    private int mStartsPerFrame;
+    private long mDeferredFrameTime = NO_DEFERRED_FRAME;
+
+    public AdaptiveFrameTransitionScheduler() {
+        this(DEFAULT_MIN_STARTS_PER_FRAME, DEFAULT_MAX_STARTS_PER_FRAME);
+    }
+
+    public AdaptiveFrameTransitionScheduler(int minStartsPerFrame, int maxStartsPerFrame) {
+        if (minStartsPerFrame <= 0 || maxStartsPerFrame < minStartsPerFrame) {
+            throw new IllegalArgumentException();
+        }
+        mMinStartsPerFrame = minStartsPerFrame;
+        mMaxStartsPerFrame = maxStartsPerFrame;
+        mStartsPerFrame = maxStartsPerFrame;
+    }
+
+    /**
+     * @return 지금 프레임당 시작할 수 있는 트랜지션의 수
+     */
+    public int getStartsPerFrame() {
+        return mStartsPerFrame;
+    }
+
+    @Override
+    protected int getMaxStartsForFrame(long frameTimeInMilli) {
+        // 이전 프레임에서 넘어온 시작을 처리하는 프레임일 때만 프레임 간격이 의미가 있다.
+        if (mDeferredFrameTime != NO_DEFERRED_FRAME) {
+            if (frameTimeInMilli - mDeferredFrameTime >= FRAME_DROP_THRESHOLD_MILLIS) {
+                mStartsPerFrame = Math.max(mMinStartsPerFrame, mStartsPerFrame / 2);
+            } else {
+                mStartsPerFrame = Math.min(mMaxStartsPerFrame, mStartsPerFrame + 1);
+            }
+        }
+        return mStartsPerFrame;
+    }
+
+    @Override
+    protected void onFrameDrained(long frameTimeInMilli, boolean hasDeferredStarts) {
+        mDeferredFrameTime = hasDeferredStarts ? frameTimeInMilli : NO_DEFERRED_FRAME;
+    }
+
+    @Override
+    public void cancelAll() {
+        super.cancelAll();
+        mDeferredFrameTime = NO_DEFERRED_FRAME;
+    }
+}
@@ -0,0 +1,244 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.support.annotation.NonNull;
+import android.view.Choreographer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FrameTransitionScheduler
+ *  예약된 트랜지션들을 내부 큐에 시간 순으로 들고 있다가
+ *  하나의 Choreographer 프레임 콜백에서 실행 시간이 된 트랜지션을 모두 실행하는 스케쥴러.
+ *  뷰가 많아도 메인 루퍼에는 콜백 하나만 올라가고, 트랜지션 시작 시점이 프레임에 맞춰진다.
+ *
+ *  같은 프레임에 시작해야 하는 트랜지션이 많을 경우 프레임당 시작 수나 시작에 쓰는 시간을 제한할 수 있다.
+ *  제한을 넘은 트랜지션은 다음 프레임으로 넘어가므로 애니메이터의 setCompensatingLateStarts 와 함께 쓴다.
+ *
+ *  시간은 모두 TimeSource 에서 읽는다. 기본 TimeSource 가 아닐 경우 Choreographer 의 프레임 시간 대신 TimeSource 의 시간을 쓴다.
+ */
+public class FrameTransitionScheduler implements TransitionScheduler {
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+    public static final long NO_BUDGET = Long.MAX_VALUE;
+
+    // 다음 프레임보다 이번 프레임에 더 가까운 트랜지션은 이번 프레임에 실행한다.
+    private static final long DRAIN_AHEAD_MILLIS = 8;
+    private static final long NO_FRAME_REQUESTED = -1;
+
+    private final TransitionQueue mQueue;
+    private final FrameTicker mFrameTicker;
+    private TimeSource mTimeSource;
+    private Callback mCallback;
+    private long mRequestedDueTime = NO_FRAME_REQUESTED;
+    private boolean mIsDraining;
+    private int mMaxStartsPerFrame = NO_LIMIT;
+    private long mStartBudgetInNanos = NO_BUDGET;
+
+    public FrameTransitionScheduler() {
+        mQueue = new TransitionQueue();
+        mTimeSource = UptimeTimeSource.getInstance();
+        mFrameTicker = makeFrameTicker();
+    }
+
+    private FrameTicker makeFrameTicker() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new ChoreographerFrameTicker(this);
+        } else {
+            return new HandlerFrameTicker(this);
+        }
+    }
+
+    /**
+     * 애니메이터와 같은 TimeSource 를 써야 예약 시간이 타임라인과 어긋나지 않는다.
+     */
+    public void setTimeSource(@NonNull TimeSource timeSource) {
+        mTimeSource = timeSource;
+    }
+
+    /**
+     * 한 프레임에서 시작할 트랜지션의 최대 개수. 기본값은 NO_LIMIT
+     */
+    public void setMaxStartsPerFrame(int maxStartsPerFrame) {
+        if (maxStartsPerFrame <= 0) {
+            throw new IllegalArgumentException();
+        }
+        mMaxStartsPerFrame = maxStartsPerFrame;
+    }
+
+    public int getMaxStartsPerFrame() {
+        return mMaxStartsPerFrame;
+    }
+
+    /**
+     * 한 프레임에서 트랜지션 시작에 쓸 시간. 넘을 경우 남은 트랜지션은 다음 프레임에 시작한다.
+     * 적어도 하나는 시작하므로 시퀀스가 멈추지는 않는다. 기본값은 NO_BUDGET
+     */
+    public void setStartBudget(long budget, TimeUnit unit) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException();
+        }
+        mStartBudgetInNanos = unit.toNanos(budget);
+    }
+
+    public void clearStartBudget() {
+        mStartBudgetInNanos = NO_BUDGET;
+    }
+
+    @Override
+    public void setCallback(Callback callback) {
+        mCallback = callback;
+    }
+
+    @Override
+    public void schedule(int slot, int generation, long delay) {
+        mQueue.offer(slot, generation, mTimeSource.uptimeMillis() + delay);
+
+        if (!mIsDraining) {
+            requestFrameIfNeeded();
+        }
+    }
+
+    @Override
+    public void cancel(int slot) {
+        mQueue.cancel(slot);
+    }
+
+    @Override
+    public void cancelAll() {
+        mQueue.clear();
+        mFrameTicker.cancel();
+        mRequestedDueTime = NO_FRAME_REQUESTED;
+    }
+
+    private void requestFrameIfNeeded() {
+        long dueTime = mQueue.peekDueTime();
+        if (dueTime == Long.MAX_VALUE) {
+            return;
+        }
+        if (mRequestedDueTime != NO_FRAME_REQUESTED && mRequestedDueTime <= dueTime) {
+            return;
+        }
+
+        mFrameTicker.cancel();
+        mFrameTicker.request(Math.max(0, dueTime - mTimeSource.uptimeMillis()));
+        mRequestedDueTime = dueTime;
+    }
+
+    private void onFrame(long frameTimeInMilli) {
+        mRequestedDueTime = NO_FRAME_REQUESTED;
+        mIsDraining = true;
+
+        long drainUntil = frameTimeInMilli + DRAIN_AHEAD_MILLIS;
+        int maxStarts = Math.min(mMaxStartsPerFrame, getMaxStartsForFrame(frameTimeInMilli));
+        long drainStartTime = mStartBudgetInNanos != NO_BUDGET ? getNanoTime() : 0;
+        int startCount = 0;
+        boolean budgetExceeded = false;
+        while (startCount < maxStarts && mQueue.pollDue(drainUntil)) {
+            if (mCallback != null) {
+                mCallback.onTransitionDue(mQueue.getPolledSlot(), mQueue.getPolledGeneration());
+            }
+            startCount++;
+            if (mStartBudgetInNanos != NO_BUDGET
+                    && getNanoTime() - drainStartTime >= mStartBudgetInNanos) {
+                budgetExceeded = true;
+                break;
+            }
+        }
+        boolean limitReached = budgetExceeded || startCount >= maxStarts;
+
+        mIsDraining = false;
+        // 실행 시간이 지난 트랜지션이 남았다면 requestFrameIfNeeded 가 바로 다음 프레임을 요청한다.
+        // 제한에 걸리지 않고 큐를 비웠다면 그 사이 새로 예약된 트랜지션도 이미 시작했으므로 미뤄진 것이 없다.
+        onFrameDrained(frameTimeInMilli, limitReached && mQueue.peekDueTime() <= drainUntil);
+        requestFrameIfNeeded();
+    }
+
+    private boolean isUsingUptime() {
+        return mTimeSource == UptimeTimeSource.getInstance();
+    }
+
+    /**
+     * 시작에 쓴 시간을 잴 때 사용한다. 기본 TimeSource 에서는 더 정밀한 System.nanoTime 을 쓴다.
+     */
+    private long getNanoTime() {
+        return isUsingUptime() ? System.nanoTime() : TimeUnit.MILLISECONDS.toNanos(mTimeSource.uptimeMillis());
+    }
+
+    // Choreographer 의 프레임 시간은 uptime 기준이므로 다른 TimeSource 를 쓸 때는 그 시간으로 바꾼다.
+    private long getFrameTime(long frameTimeNanos) {
+        return isUsingUptime() ? TimeUnit.NANOSECONDS.toMillis(frameTimeNanos) : mTimeSource.uptimeMillis();
+    }
+
+    /**
+     * 이번 프레임에서 시작할 수 있는 트랜지션의 최대 개수. setMaxStartsPerFrame 의 값과 함께 더 작은 쪽을 쓴다.
+     */
+    protected int getMaxStartsForFrame(long frameTimeInMilli) {
+        return NO_LIMIT;
+    }
+
+    /**
+     * 프레임의 트랜지션 시작을 마친 뒤 불린다.
+     * @param hasDeferredStarts 제한에 걸려 다음 프레임으로 넘어간 트랜지션이 있을 경우 true
+     */
+    protected void onFrameDrained(long frameTimeInMilli, boolean hasDeferredStarts) {
+    }
+
+    private interface FrameTicker {
+        public void request(long delay);
+        public void cancel();
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class ChoreographerFrameTicker implements FrameTicker, Choreographer.FrameCallback {
+        private final FrameTransitionScheduler mScheduler;
+        private final Choreographer mChoreographer;
+
+        public ChoreographerFrameTicker(FrameTransitionScheduler scheduler) {
+            mScheduler = scheduler;
+            mChoreographer = Choreographer.getInstance();
+        }
+
+        @Override
+        public void request(long delay) {
+            mChoreographer.postFrameCallbackDelayed(this, delay);
+        }
+
+        @Override
+        public void cancel() {
+            mChoreographer.removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mScheduler.onFrame(mScheduler.getFrameTime(frameTimeNanos));
+        }
+    }
+
+    // Choreographer 가 없는 ICS 에서는 하나의 Runnable 을 다음 실행 시간에 맞춰 보낸다.
+    private static class HandlerFrameTicker implements FrameTicker, Runnable {
+        private final FrameTransitionScheduler mScheduler;
+        private final Handler mHandler;
+
+        public HandlerFrameTicker(FrameTransitionScheduler scheduler) {
+            mScheduler = scheduler;
+            mHandler = new Handler();
+        }
+
+        @Override
+        public void request(long delay) {
+            mHandler.postDelayed(this, delay);
+        }
+
+        @Override
+        public void cancel() {
+            mHandler.removeCallbacks(this);
+        }
+
+        @Override
+        public void run() {
+            mScheduler.onFrame(mScheduler.mTimeSource.uptimeMillis());
+        }
+    }
+}
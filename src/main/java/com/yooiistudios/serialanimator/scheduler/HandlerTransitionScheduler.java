@@ -0,0 +1,47 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+import android.os.Handler;
+import android.os.Message;
+
+/**
+ * HandlerTransitionScheduler
+ *  뷰 하나당 하나의 Message 를 메인 루퍼에 보내는 기본 스케쥴러
+ */
+public class HandlerTransitionScheduler extends Handler implements TransitionScheduler {
+    private Callback mCallback;
+
+    @Override
+    public void setCallback(Callback callback) {
+        mCallback = callback;
+    }
+
+    @Override
+    public void schedule(int slot, int generation, long delay) {
+        Message message = Message.obtain();
+        // 이미 등록된 메시지를 취소하는 데에 쓰일 값
+        message.what = slot;
+        message.arg1 = generation;
+
+        cancel(slot);
+        sendMessageDelayed(message, delay);
+    }
+
+    @Override
+    public void cancel(int slot) {
+        removeMessages(slot);
+    }
+
+    @Override
+    public void cancelAll() {
+        removeCallbacksAndMessages(null);
+    }
+
+    @Override
+    public void handleMessage(Message message) {
+        super.handleMessage(message);
+
+        if (mCallback != null) {
+            mCallback.onTransitionDue(message.what, message.arg1);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+import android.animation.ValueAnimator;
+import android.support.annotation.NonNull;
+import android.view.animation.LinearInterpolator;
+
+/**
+ * MasterClock
+ *  하나의 ValueAnimator 를 매 프레임 돌려 예약된 트랜지션 시작과 진행중인 트랜지션의 평가를 함께 처리하는 스케쥴러.
+ *  뷰가 많아도 프레임워크의 AnimationHandler 에는 애니메이터 하나만 등록된다.
+ *  매 프레임 먼저 FrameCallback 으로 진행중인 트랜지션을 평가한 뒤, 실행 시간이 된 트랜지션을 시작한다.
+ *  같은 프레임에서 끝나는 트랜지션과 이어지는 다음 트랜지션의 순서를 지키기 위함이다.
+ */
+public class MasterClock implements TransitionScheduler, ValueAnimator.AnimatorUpdateListener {
+    public interface FrameCallback {
+        /**
+         * @return 다음 프레임에도 평가할 트랜지션이 남아 있을 경우 true
+         */
+        public boolean onFrame(long frameTimeInMilli);
+    }
+
+    // 틱 용도이므로 값과 길이는 의미가 없다. 무한 반복으로 멈출 때까지 매 프레임 불린다.
+    private static final long TICK_DURATION = 1000;
+
+    private final TransitionQueue mQueue;
+    private final ValueAnimator mTicker;
+    private TimeSource mTimeSource;
+    private Callback mCallback;
+    private FrameCallback mFrameCallback;
+    private boolean mHasActiveTransitions;
+
+    public MasterClock() {
+        mQueue = new TransitionQueue();
+        mTimeSource = UptimeTimeSource.getInstance();
+        mTicker = ValueAnimator.ofFloat(0f, 1f);
+        mTicker.setDuration(TICK_DURATION);
+        mTicker.setRepeatCount(ValueAnimator.INFINITE);
+        mTicker.setInterpolator(new LinearInterpolator());
+        mTicker.addUpdateListener(this);
+    }
+
+    public void setTimeSource(@NonNull TimeSource timeSource) {
+        mTimeSource = timeSource;
+    }
+
+    @Override
+    public void setCallback(Callback callback) {
+        mCallback = callback;
+    }
+
+    public void setFrameCallback(FrameCallback frameCallback) {
+        mFrameCallback = frameCallback;
+    }
+
+    @Override
+    public void schedule(int slot, int generation, long delay) {
+        mQueue.offer(slot, generation, mTimeSource.uptimeMillis() + delay);
+        start();
+    }
+
+    @Override
+    public void cancel(int slot) {
+        mQueue.cancel(slot);
+    }
+
+    @Override
+    public void cancelAll() {
+        mQueue.clear();
+    }
+
+    /**
+     * 진행중인 트랜지션이 생겼을 때 불러 틱을 시작한다.
+     */
+    public void notifyTransitionActivated() {
+        mHasActiveTransitions = true;
+        start();
+    }
+
+    private void start() {
+        if (!mTicker.isStarted()) {
+            mTicker.start();
+        }
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        long now = mTimeSource.uptimeMillis();
+
+        // 평가 도중 새로 시작된 트랜지션이 있다면 notifyTransitionActivated 가 다시 true 로 바꾼다.
+        mHasActiveTransitions = false;
+        if (mFrameCallback != null && mFrameCallback.onFrame(now)) {
+            mHasActiveTransitions = true;
+        }
+        while (mQueue.pollDue(now)) {
+            if (mCallback != null) {
+                mCallback.onTransitionDue(mQueue.getPolledSlot(), mQueue.getPolledGeneration());
+            }
+        }
+
+        if (!mHasActiveTransitions && mQueue.isEmpty()) {
+            mTicker.cancel();
+        }
+    }
+}
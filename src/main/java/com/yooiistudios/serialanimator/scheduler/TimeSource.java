@@ -0,0 +1,10 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+/**
+ * TimeSource
+ *  애니메이터가 트랜지션 시간을 계산할 때 쓰는 시계.
+ *  벽시계(System.currentTimeMillis) 와 달리 단조 증가해야 한다.
+ */
+public interface TimeSource {
+    public long uptimeMillis();
+}
@@ -0,0 +1,174 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+import java.util.Arrays;
+
+/**
+ * TransitionQueue
+ *  예약된 트랜지션을 실행 시간 순으로 정렬해 두는 min-heap.
+ *  모든 항목을 primitive 배열에 저장해 예약/실행 시 객체를 만들지 않는다.
+ *  취소는 slot 의 token 을 바꿔 두고 꺼낼 때 버리므로 힙을 뒤질 필요가 없고,
+ *  전체 취소는 힙의 크기만 0 으로 만들면 되므로 O(1) 이다.
+ */
+class TransitionQueue {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] mDueTimes = new long[INITIAL_CAPACITY];
+    // 같은 시간에 예약된 트랜지션은 예약된 순서대로 실행한다.
+    private long[] mSequences = new long[INITIAL_CAPACITY];
+    private int[] mSlots = new int[INITIAL_CAPACITY];
+    private int[] mGenerations = new int[INITIAL_CAPACITY];
+    private int[] mTokens = new int[INITIAL_CAPACITY];
+    private int mSize;
+    private long mSequence;
+
+    // slot 별로 현재 유효한 token. 힙의 token 과 다르면 취소된 항목이다.
+    private int[] mSlotTokens = new int[INITIAL_CAPACITY];
+
+    private int mPolledSlot;
+    private int mPolledGeneration;
+
+    public void offer(int slot, int generation, long dueTime) {
+        ensureSlotCapacity(slot + 1);
+        cancel(slot);
+
+        if (mSize == mDueTimes.length) {
+            int newCapacity = mSize * 2;
+            mDueTimes = Arrays.copyOf(mDueTimes, newCapacity);
+            mSequences = Arrays.copyOf(mSequences, newCapacity);
+            mSlots = Arrays.copyOf(mSlots, newCapacity);
+            mGenerations = Arrays.copyOf(mGenerations, newCapacity);
+            mTokens = Arrays.copyOf(mTokens, newCapacity);
+        }
+        int index = mSize++;
+        set(index, dueTime, mSequence++, slot, generation, mSlotTokens[slot]);
+        siftUp(index);
+    }
+
+    public void cancel(int slot) {
+        if (slot < mSlotTokens.length) {
+            mSlotTokens[slot]++;
+        }
+    }
+
+    public void clear() {
+        mSize = 0;
+    }
+
+    public boolean isEmpty() {
+        dropCancelledHead();
+        return mSize == 0;
+    }
+
+    /**
+     * @return 가장 먼저 실행되야 하는 트랜지션의 시간. 비어 있을 경우 Long.MAX_VALUE
+     */
+    public long peekDueTime() {
+        dropCancelledHead();
+        return mSize > 0 ? mDueTimes[0] : Long.MAX_VALUE;
+    }
+
+    /**
+     * dueTime 이 time 이전인 트랜지션을 꺼낸다.
+     * 꺼낸 트랜지션은 getPolledSlot, getPolledGeneration 으로 알 수 있다.
+     * @return 꺼낸 트랜지션이 있을 경우 true
+     */
+    public boolean pollDue(long time) {
+        dropCancelledHead();
+        if (mSize == 0 || mDueTimes[0] > time) {
+            return false;
+        }
+        mPolledSlot = mSlots[0];
+        mPolledGeneration = mGenerations[0];
+        removeHead();
+
+        return true;
+    }
+
+    public int getPolledSlot() {
+        return mPolledSlot;
+    }
+
+    public int getPolledGeneration() {
+        return mPolledGeneration;
+    }
+
+    private boolean isCancelled(int index) {
+        return mTokens[index] != mSlotTokens[mSlots[index]];
+    }
+
+    private void dropCancelledHead() {
+        while (mSize > 0 && isCancelled(0)) {
+            removeHead();
+        }
+    }
+
+    private void removeHead() {
+        mSize--;
+        if (mSize > 0) {
+            move(mSize, 0);
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isBefore(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        int half = mSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < mSize && isBefore(right, child)) {
+                child = right;
+            }
+            if (!isBefore(child, index)) {
+                break;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private boolean isBefore(int index, int otherIndex) {
+        return mDueTimes[index] < mDueTimes[otherIndex]
+                || (mDueTimes[index] == mDueTimes[otherIndex]
+                && mSequences[index] < mSequences[otherIndex]);
+    }
+
+    private void set(int index, long dueTime, long sequence, int slot, int generation, int token) {
+        mDueTimes[index] = dueTime;
+        mSequences[index] = sequence;
+        mSlots[index] = slot;
+        mGenerations[index] = generation;
+        mTokens[index] = token;
+    }
+
+    private void move(int from, int to) {
+        set(to, mDueTimes[from], mSequences[from], mSlots[from], mGenerations[from], mTokens[from]);
+    }
+
+    private void swap(int index, int otherIndex) {
+        long dueTime = mDueTimes[index];
+        long sequence = mSequences[index];
+        int slot = mSlots[index];
+        int generation = mGenerations[index];
+        int token = mTokens[index];
+        move(otherIndex, index);
+        set(otherIndex, dueTime, sequence, slot, generation, token);
+    }
+
+    private void ensureSlotCapacity(int capacity) {
+        if (capacity > mSlotTokens.length) {
+            int newCapacity = Math.max(capacity, mSlotTokens.length * 2);
+            mSlotTokens = Arrays.copyOf(mSlotTokens, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+/**
+ * TransitionScheduler
+ *  SerialAnimator 가 예약한 트랜지션을 정해진 시간에 실행시켜 주는 스케쥴러.
+ *  트랜지션은 ViewProperty 의 slot 과 예약 당시의 generation 으로 구분한다.
+ */
+public interface TransitionScheduler {
+    public interface Callback {
+        public void onTransitionDue(int slot, int generation);
+    }
+
+    public void setCallback(Callback callback);
+
+    /**
+     * delay 후에 slot 의 트랜지션을 실행하도록 예약한다.
+     * 같은 slot 으로 이미 예약된 트랜지션이 있다면 취소하고 새로 예약한다.
+     */
+    public void schedule(int slot, int generation, long delay);
+
+    public void cancel(int slot);
+
+    public void cancelAll();
+}
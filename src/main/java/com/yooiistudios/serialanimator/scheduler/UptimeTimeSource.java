@@ -0,0 +1,23 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+import android.os.SystemClock;
+
+/**
+ * UptimeTimeSource
+ *  SystemClock.uptimeMillis 를 쓰는 기본 TimeSource.
+ *  Handler, Choreographer 와 같은 시계를 쓰므로 스케쥴러의 시간과 어긋나지 않는다.
+ */
+public class UptimeTimeSource implements TimeSource {
+    private static final UptimeTimeSource INSTANCE = new UptimeTimeSource();
+
+    private UptimeTimeSource() { }
+
+    public static UptimeTimeSource getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public long uptimeMillis() {
+        return SystemClock.uptimeMillis();
+    }
+}
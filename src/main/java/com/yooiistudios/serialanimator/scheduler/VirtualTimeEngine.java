@@ -0,0 +1,127 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+/**
+ * VirtualTimeEngine
+ *  Looper 없이 가상의 시간으로 트랜지션 스케쥴링과 애니메이션 종료를 진행시키는 엔진.
+ *  TransitionScheduler 와 TimeSource 를 함께 구현하므로 애니메이터에 둘 다 지정해서 쓴다.
+ *  advanceBy 를 부르면 그 사이에 실행되야 하는 트랜지션 시작과 애니메이션 종료를 시간 순으로 실행하므로
+ *  JVM 에서 긴 시퀀스를 실제 시간을 기다리지 않고 결정적으로 재현할 수 있다.
+ */
+public class VirtualTimeEngine implements TransitionScheduler, TimeSource {
+    public interface AnimationCallback {
+        public void onAnimationDue(int slot, int generation);
+    }
+
+    private final TransitionQueue mTransitionQueue;
+    private final TransitionQueue mAnimationQueue;
+    private Callback mCallback;
+    private AnimationCallback mAnimationCallback;
+    private long mCurrentTime;
+    private long mDispatchCount;
+
+    public VirtualTimeEngine() {
+        this(0);
+    }
+
+    public VirtualTimeEngine(long startTime) {
+        mTransitionQueue = new TransitionQueue();
+        mAnimationQueue = new TransitionQueue();
+        mCurrentTime = startTime;
+    }
+
+    @Override
+    public long uptimeMillis() {
+        return mCurrentTime;
+    }
+
+    @Override
+    public void setCallback(Callback callback) {
+        mCallback = callback;
+    }
+
+    public void setAnimationCallback(AnimationCallback animationCallback) {
+        mAnimationCallback = animationCallback;
+    }
+
+    @Override
+    public void schedule(int slot, int generation, long delay) {
+        mTransitionQueue.offer(slot, generation, mCurrentTime + Math.max(0, delay));
+    }
+
+    @Override
+    public void cancel(int slot) {
+        mTransitionQueue.cancel(slot);
+    }
+
+    @Override
+    public void cancelAll() {
+        mTransitionQueue.clear();
+    }
+
+    /**
+     * slot 에서 진행중인 애니메이션이 delay 후에 끝나도록 예약한다.
+     */
+    public void scheduleAnimationEnd(int slot, int generation, long delay) {
+        mAnimationQueue.offer(slot, generation, mCurrentTime + Math.max(0, delay));
+    }
+
+    public void cancelAnimationEnd(int slot) {
+        mAnimationQueue.cancel(slot);
+    }
+
+    public void advanceBy(long duration) {
+        advanceTo(mCurrentTime + duration);
+    }
+
+    /**
+     * time 까지 시간을 진행시키며 그 사이에 예정된 애니메이션 종료와 트랜지션 시작을 시간 순으로 실행한다.
+     * 같은 시간일 경우 애니메이션 종료를 먼저 처리한다.
+     */
+    public void advanceTo(long time) {
+        while (true) {
+            long animationDueTime = mAnimationQueue.peekDueTime();
+            long transitionDueTime = mTransitionQueue.peekDueTime();
+            long dueTime = Math.min(animationDueTime, transitionDueTime);
+            if (dueTime > time) {
+                break;
+            }
+            mCurrentTime = Math.max(mCurrentTime, dueTime);
+            mDispatchCount++;
+
+            if (animationDueTime <= transitionDueTime) {
+                mAnimationQueue.pollDue(dueTime);
+                if (mAnimationCallback != null) {
+                    mAnimationCallback.onAnimationDue(
+                            mAnimationQueue.getPolledSlot(), mAnimationQueue.getPolledGeneration());
+                }
+            } else {
+                mTransitionQueue.pollDue(dueTime);
+                if (mCallback != null) {
+                    mCallback.onTransitionDue(
+                            mTransitionQueue.getPolledSlot(), mTransitionQueue.getPolledGeneration());
+                }
+            }
+        }
+        mCurrentTime = Math.max(mCurrentTime, time);
+    }
+
+    /**
+     * 예약된 것이 하나도 남지 않을 때까지 시간을 진행시킨다.
+     */
+    public void runUntilIdle() {
+        while (!isIdle()) {
+            advanceTo(Math.min(mAnimationQueue.peekDueTime(), mTransitionQueue.peekDueTime()));
+        }
+    }
+
+    public boolean isIdle() {
+        return mAnimationQueue.isEmpty() && mTransitionQueue.isEmpty();
+    }
+
+    /**
+     * @return 지금까지 실행한 트랜지션 시작/애니메이션 종료의 수
+     */
+    public long getDispatchCount() {
+        return mDispatchCount;
+    }
+}
@@ -0,0 +1,119 @@
+package com.yooiistudios.serialanimator.spec;
+
+import android.animation.TimeInterpolator;
+import android.support.annotation.NonNull;
+import android.view.animation.AccelerateDecelerateInterpolator;
+
+import java.util.Arrays;
+
+/**
+ * TransitionSpec
+ *  트랜지션 하나를 선언적으로 기술한다. 어떤 뷰 속성을 어디서부터 어디까지, 얼마 동안, 어떤 interpolator 로 바꿀지만 담고
+ *  뷰마다 애니메이터를 만들지 않는다. 실제 평가는 TransitionSpecs 로 컴파일한 배열에서 한다.
+ */
+public class TransitionSpec {
+    public static final int ALPHA = 0;
+    public static final int TRANSLATION_X = 1;
+    public static final int TRANSLATION_Y = 2;
+    public static final int SCALE_X = 3;
+    public static final int SCALE_Y = 4;
+    public static final int ROTATION = 5;
+
+    // ValueAnimator 의 기본 interpolator 와 같다.
+    private static final TimeInterpolator DEFAULT_INTERPOLATOR = new AccelerateDecelerateInterpolator();
+
+    private final long mDuration;
+    private final TimeInterpolator mInterpolator;
+    private final int[] mAttributes;
+    private final float[] mFromValues;
+    private final float[] mToValues;
+
+    private TransitionSpec(Builder builder) {
+        mDuration = builder.mDuration;
+        mInterpolator = builder.mInterpolator;
+        mAttributes = Arrays.copyOf(builder.mAttributes, builder.mAttributeCount);
+        mFromValues = Arrays.copyOf(builder.mFromValues, builder.mAttributeCount);
+        mToValues = Arrays.copyOf(builder.mToValues, builder.mAttributeCount);
+    }
+
+    public long getDuration() {
+        return mDuration;
+    }
+
+    public TimeInterpolator getInterpolator() {
+        return mInterpolator;
+    }
+
+    public int getAttributeCount() {
+        return mAttributes.length;
+    }
+
+    public int getAttribute(int position) {
+        return mAttributes[position];
+    }
+
+    public float getFromValue(int position) {
+        return mFromValues[position];
+    }
+
+    public float getToValue(int position) {
+        return mToValues[position];
+    }
+
+    public static TransitionSpec fade(float from, float to, long duration) {
+        return new Builder().setDuration(duration).animate(ALPHA, from, to).build();
+    }
+
+    public static TransitionSpec slideY(float from, float to, long duration) {
+        return new Builder().setDuration(duration).animate(TRANSLATION_Y, from, to).build();
+    }
+
+    public static class Builder {
+        private static final int INITIAL_CAPACITY = 2;
+
+        private long mDuration;
+        private TimeInterpolator mInterpolator = DEFAULT_INTERPOLATOR;
+        private int[] mAttributes = new int[INITIAL_CAPACITY];
+        private float[] mFromValues = new float[INITIAL_CAPACITY];
+        private float[] mToValues = new float[INITIAL_CAPACITY];
+        private int mAttributeCount;
+
+        public Builder setDuration(long duration) {
+            if (duration < 0) {
+                throw new IllegalArgumentException();
+            }
+            mDuration = duration;
+            return this;
+        }
+
+        public Builder setInterpolator(@NonNull TimeInterpolator interpolator) {
+            mInterpolator = interpolator;
+            return this;
+        }
+
+        /**
+         * attribute 를 from 에서 to 로 바꾼다. 한 트랜지션에서 여러 속성을 함께 바꿀 수 있다.
+         * @param attribute ALPHA, TRANSLATION_X, TRANSLATION_Y, SCALE_X, SCALE_Y, ROTATION 중 하나
+         */
+        public Builder animate(int attribute, float from, float to) {
+            if (attribute < ALPHA || attribute > ROTATION) {
+                throw new IllegalArgumentException("Unknown attribute : " + attribute);
+            }
+            if (mAttributeCount == mAttributes.length) {
+                int capacity = mAttributeCount * 2;
+                mAttributes = Arrays.copyOf(mAttributes, capacity);
+                mFromValues = Arrays.copyOf(mFromValues, capacity);
+                mToValues = Arrays.copyOf(mToValues, capacity);
+            }
+            mAttributes[mAttributeCount] = attribute;
+            mFromValues[mAttributeCount] = from;
+            mToValues[mAttributeCount] = to;
+            mAttributeCount++;
+            return this;
+        }
+
+        public TransitionSpec build() {
+            return new TransitionSpec(this);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.yooiistudios.serialanimator.spec;
+
+import android.animation.TimeInterpolator;
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import java.util.List;
+
+/**
+ * TransitionSpecs
+ *  TransitionSpec 리스트를 한 번 컴파일해 둔 평평한 배열.
+ *  트랜지션 i 가 바꾸는 속성들은 mAttributes 의 [mAttributeOffsets[i], mAttributeOffsets[i + 1]) 구간에 있다.
+ *  apply 는 객체를 만들지 않고 배열만 읽어 뷰에 값을 쓴다.
+ */
+public final class TransitionSpecs {
+    private final long[] mDurations;
+    private final TimeInterpolator[] mInterpolators;
+    private final int[] mAttributeOffsets;
+    private final int[] mAttributes;
+    private final float[] mFromValues;
+    private final float[] mToValues;
+
+    public TransitionSpecs(@NonNull List<TransitionSpec> specs) {
+        int transitionCount = specs.size();
+        mDurations = new long[transitionCount];
+        mInterpolators = new TimeInterpolator[transitionCount];
+        mAttributeOffsets = new int[transitionCount + 1];
+
+        for (int i = 0; i < transitionCount; i++) {
+            mAttributeOffsets[i + 1] = mAttributeOffsets[i] + specs.get(i).getAttributeCount();
+        }
+        int attributeCount = mAttributeOffsets[transitionCount];
+        mAttributes = new int[attributeCount];
+        mFromValues = new float[attributeCount];
+        mToValues = new float[attributeCount];
+
+        for (int i = 0; i < transitionCount; i++) {
+            TransitionSpec spec = specs.get(i);
+            mDurations[i] = spec.getDuration();
+            mInterpolators[i] = spec.getInterpolator();
+            int offset = mAttributeOffsets[i];
+            for (int j = 0; j < spec.getAttributeCount(); j++) {
+                mAttributes[offset + j] = spec.getAttribute(j);
+                mFromValues[offset + j] = spec.getFromValue(j);
+                mToValues[offset + j] = spec.getToValue(j);
+            }
+        }
+    }
+
+    public int size() {
+        return mDurations.length;
+    }
+
+    public long getDuration(int transitionIndex) {
+        return mDurations[transitionIndex];
+    }
+
+    /**
+     * transitionIndex 번째 트랜지션을 playTime 만큼 진행한 값을 view 에 쓴다.
+     */
+    public void apply(View view, int transitionIndex, long playTime) {
+        long duration = mDurations[transitionIndex];
+        float fraction = duration > 0 ? Math.min(1f, Math.max(0f, (float) playTime / duration)) : 1f;
+        fraction = mInterpolators[transitionIndex].getInterpolation(fraction);
+
+        int end = mAttributeOffsets[transitionIndex + 1];
+        for (int i = mAttributeOffsets[transitionIndex]; i < end; i++) {
+            float value = mFromValues[i] + (mToValues[i] - mFromValues[i]) * fraction;
+            setAttribute(view, mAttributes[i], value);
+        }
+    }
+
+    /**
+     * 앞선 트랜지션은 끝난 상태, 뒤의 트랜지션은 시작 전 상태로 만든 뒤 transitionIndex 번째 트랜지션을 playTime 만큼 진행한다.
+     * 같은 속성을 바꾸는 트랜지션이 여럿일 수 있으므로 진행중인 트랜지션을 마지막에 반영한다.
+     */
+    public void seek(View view, int transitionIndex, long playTime) {
+        for (int i = mDurations.length - 1; i > transitionIndex; i--) {
+            apply(view, i, 0);
+        }
+        for (int i = 0; i < transitionIndex; i++) {
+            apply(view, i, mDurations[i]);
+        }
+        apply(view, transitionIndex, playTime);
+    }
+
+    /**
+     * 모든 트랜지션을 순서대로 끝 상태로 만든다.
+     */
+    public void applyFinished(View view) {
+        for (int i = 0; i < mDurations.length; i++) {
+            apply(view, i, mDurations[i]);
+        }
+    }
+
+    private static void setAttribute(View view, int attribute, float value) {
+        switch (attribute) {
+            case TransitionSpec.ALPHA:
+                view.setAlpha(value);
+                break;
+            case TransitionSpec.TRANSLATION_X:
+                view.setTranslationX(value);
+                break;
+            case TransitionSpec.TRANSLATION_Y:
+                view.setTranslationY(value);
+                break;
+            case TransitionSpec.SCALE_X:
+                view.setScaleX(value);
+                break;
+            case TransitionSpec.SCALE_Y:
+                view.setScaleY(value);
+                break;
+            case TransitionSpec.ROTATION:
+                view.setRotation(value);
+                break;
+        }
+    }
+}
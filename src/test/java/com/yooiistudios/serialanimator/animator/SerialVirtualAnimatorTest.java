@@ -0,0 +1,212 @@
+package com.yooiistudios.serialanimator.animator;
+
+import android.view.View;
+
+import com.yooiistudios.serialanimator.metrics.TransitionMetricsListener;
+import com.yooiistudios.serialanimator.property.ViewProperty;
+import com.yooiistudios.serialanimator.scheduler.VirtualTimeEngine;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * VirtualTimeEngine 으로 시퀀스를 처음부터 끝까지 재현하며 스텝의 시작/종료 시간과 콜백을 확인한다.
+ */
+public class SerialVirtualAnimatorTest {
+    private static final long[] DURATIONS = {100, 200};
+    private static final long INITIAL_DELAY = 10;
+    private static final long INTERVAL = 50;
+    private static final int VIEW_COUNT = 3;
+
+    private VirtualTimeEngine mEngine;
+    private SerialVirtualAnimator mAnimator;
+    private Recorder mRecorder;
+
+    private void setUp(int viewCount) {
+        mEngine = new VirtualTimeEngine();
+        mAnimator = new SerialVirtualAnimator(mEngine);
+        mAnimator.setTransitionProperty(new SerialVirtualAnimator.VirtualTransitionProperty(
+                DURATIONS, INITIAL_DELAY, INTERVAL));
+        mRecorder = new Recorder(mEngine, viewCount);
+        mAnimator.setTransitionMetricsListener(mRecorder);
+        for (int key = 0; key < viewCount; key++) {
+            mAnimator.putViewPropertyIfRoom(new ViewProperty.Builder()
+                    .setView(new View(null))
+                    .setViewIndex(key)
+                    .setAnimationListener(mRecorder)
+                    .build(), key);
+        }
+    }
+
+    private static long getStartTime(int key, int transitionIndex) {
+        long startTime = INITIAL_DELAY + INTERVAL * key;
+        for (int i = 0; i < transitionIndex; i++) {
+            startTime += DURATIONS[i];
+        }
+        return startTime;
+    }
+
+    @Test
+    public void stepsStartAndEndOnTimeline() {
+        setUp(VIEW_COUNT);
+        mAnimator.animate();
+        mEngine.runUntilIdle();
+
+        for (int key = 0; key < VIEW_COUNT; key++) {
+            for (int i = 0; i < DURATIONS.length; i++) {
+                long startTime = getStartTime(key, i);
+                assertEquals(startTime, mRecorder.mScheduledTimes[key][i]);
+                assertEquals(startTime, mRecorder.mStartTimes[key][i]);
+                assertEquals(startTime + DURATIONS[i], mRecorder.mEndTimes[key][i]);
+            }
+        }
+        assertEquals(mAnimator.getSequenceDuration(), mEngine.uptimeMillis());
+        assertEquals(0, mRecorder.mDroppedCount);
+    }
+
+    @Test
+    public void endCallbacksFollowTimeline() {
+        setUp(VIEW_COUNT);
+        mAnimator.animate();
+        mEngine.runUntilIdle();
+
+        // 110 에 0 번 뷰의 첫 스텝이 끝나고, 160, 210 에 나머지 뷰의 첫 스텝이 끝난 뒤 두번째 스텝들이 끝난다.
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < DURATIONS.length; i++) {
+            for (int key = 0; key < VIEW_COUNT; key++) {
+                expected.add(key + ":" + i);
+            }
+        }
+        assertEquals(expected, mRecorder.mEnds);
+    }
+
+    /**
+     * 취소되어도 진행중이던 스텝의 종료 콜백은 불리고, 이후의 스텝은 시작되지 않는다.
+     */
+    @Test
+    public void cancelNotifiesRunningStepsOnly() {
+        setUp(VIEW_COUNT);
+        mAnimator.animate();
+        mEngine.advanceTo(150);
+        mRecorder.mEnds.clear();
+
+        mAnimator.cancelAllTransitions();
+        mEngine.runUntilIdle();
+
+        // 150 에는 0 번 뷰가 두번째 스텝, 1, 2 번 뷰가 첫 스텝을 진행중이다.
+        assertEquals(3, mRecorder.mEnds.size());
+        assertTrue(mRecorder.mEnds.contains("0:1"));
+        assertTrue(mRecorder.mEnds.contains("1:0"));
+        assertTrue(mRecorder.mEnds.contains("2:0"));
+        assertEquals(3, mRecorder.mCancelledCount);
+        assertEquals(-1, mRecorder.mStartTimes[1][1]);
+    }
+
+    @Test
+    public void resetIgnoresCallbacksOfRunningSteps() {
+        setUp(VIEW_COUNT);
+        mAnimator.animate();
+        mEngine.advanceTo(150);
+        mRecorder.mEnds.clear();
+
+        mAnimator.cancelAndResetAllTransitions();
+        mEngine.runUntilIdle();
+
+        assertEquals(0, mRecorder.mEnds.size());
+        assertEquals(3, mRecorder.mIgnoredCount);
+    }
+
+    @Test
+    public void animateAgainRestartsFromFirstStep() {
+        setUp(VIEW_COUNT);
+        mAnimator.animate();
+        mEngine.advanceTo(150);
+
+        mAnimator.animate();
+        mRecorder.clear();
+        mEngine.runUntilIdle();
+
+        for (int key = 0; key < VIEW_COUNT; key++) {
+            for (int i = 0; i < DURATIONS.length; i++) {
+                assertEquals(150 + getStartTime(key, i), mRecorder.mStartTimes[key][i]);
+            }
+        }
+    }
+
+    @Test
+    public void replaysLongSequence() {
+        int viewCount = 1000;
+        setUp(viewCount);
+        mAnimator.animate();
+        mEngine.runUntilIdle();
+
+        assertEquals(viewCount * DURATIONS.length, mRecorder.mEnds.size());
+        assertEquals(mAnimator.getSequenceDuration(), mEngine.uptimeMillis());
+        assertEquals(getStartTime(viewCount - 1, 1), mRecorder.mStartTimes[viewCount - 1][1]);
+        assertEquals(0, mAnimator.getTransitionStates().getStartedCount());
+    }
+
+    private static class Recorder implements TransitionMetricsListener, ViewProperty.AnimationListener {
+        private final VirtualTimeEngine mEngine;
+        private final long[][] mScheduledTimes;
+        private final long[][] mStartTimes;
+        private final long[][] mEndTimes;
+        private final List<String> mEnds = new ArrayList<>();
+        private int mCancelledCount;
+        private int mDroppedCount;
+        private int mIgnoredCount;
+
+        public Recorder(VirtualTimeEngine engine, int viewCount) {
+            mEngine = engine;
+            mScheduledTimes = new long[viewCount][DURATIONS.length];
+            mStartTimes = new long[viewCount][DURATIONS.length];
+            mEndTimes = new long[viewCount][DURATIONS.length];
+            clear();
+        }
+
+        public void clear() {
+            for (int key = 0; key < mStartTimes.length; key++) {
+                for (int i = 0; i < DURATIONS.length; i++) {
+                    mScheduledTimes[key][i] = -1;
+                    mStartTimes[key][i] = -1;
+                    mEndTimes[key][i] = -1;
+                }
+            }
+            mEnds.clear();
+        }
+
+        @Override
+        public void onTransitionStarted(int key, int transitionIndex, long scheduledTime, long actualTime) {
+            mScheduledTimes[key][transitionIndex] = scheduledTime;
+            mStartTimes[key][transitionIndex] = actualTime;
+        }
+
+        @Override
+        public void onTransitionCancelled(int key, int transitionIndex) {
+            mCancelledCount++;
+        }
+
+        @Override
+        public void onTransitionDropped() {
+            mDroppedCount++;
+        }
+
+        @Override
+        public void onCallbackIgnored(int key, int transitionIndex) {
+            mIgnoredCount++;
+        }
+
+        @Override
+        public void onAnimationEnd(ViewProperty property) {
+            int key = property.getViewIndex();
+            int transitionIndex = property.getTransitionInfo().index;
+            mEndTimes[key][transitionIndex] = mEngine.uptimeMillis();
+            mEnds.add(key + ":" + transitionIndex);
+        }
+    }
+}
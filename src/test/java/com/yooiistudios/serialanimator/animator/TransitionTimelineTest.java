@@ -0,0 +1,127 @@
+package com.yooiistudios.serialanimator.animator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TransitionTimelineTest {
+    // 가운데에 길이 0 인 트랜지션이 있다. 시작 시간은 0, 100, 100 이고 전체 길이는 300
+    private static final long[] DURATIONS = {100, 0, 200};
+    private static final long INITIAL_DELAY = 10;
+    private static final long INTERVAL = 50;
+
+    private static TransitionTimeline makeTimeline() {
+        return new TransitionTimeline(DURATIONS, INITIAL_DELAY, INTERVAL);
+    }
+
+    @Test
+    public void startOffsetsArePrefixSums() {
+        TransitionTimeline timeline = makeTimeline();
+
+        assertEquals(3, timeline.getTransitionCount());
+        assertEquals(0, timeline.getStartOffset(0));
+        assertEquals(100, timeline.getStartOffset(1));
+        assertEquals(100, timeline.getStartOffset(2));
+        assertEquals(300, timeline.getStartOffset(3));
+        assertEquals(300, timeline.getTotalDuration());
+        for (int i = 0; i < DURATIONS.length; i++) {
+            assertEquals(DURATIONS[i], timeline.getDuration(i));
+        }
+        assertTrue(timeline.isLastTransition(2));
+        assertFalse(timeline.isLastTransition(1));
+    }
+
+    @Test
+    public void viewStartTimes() {
+        TransitionTimeline timeline = makeTimeline();
+
+        assertEquals(0, timeline.getViewStartOffset(0));
+        assertEquals(150, timeline.getViewStartOffset(3));
+        assertEquals(160, timeline.getViewStartTime(3));
+        assertEquals(0, timeline.getSequenceDuration(0));
+        assertEquals(10 + 100 + 300, timeline.getSequenceDuration(3));
+    }
+
+    @Test
+    public void emptyTimeline() {
+        TransitionTimeline timeline = new TransitionTimeline(new long[0], 0, INTERVAL);
+
+        assertEquals(0, timeline.getTransitionCount());
+        assertEquals(0, timeline.getTotalDuration());
+        assertEquals(0, timeline.findTransitionIndex(50));
+    }
+
+    @Test
+    public void findTransitionIndexInsideTransitions() {
+        TransitionTimeline timeline = makeTimeline();
+
+        assertEquals(0, timeline.findTransitionIndex(1));
+        assertEquals(0, timeline.findTransitionIndex(99));
+        assertEquals(2, timeline.findTransitionIndex(101));
+        assertEquals(2, timeline.findTransitionIndex(299));
+    }
+
+    /**
+     * 시작 시점과 범위 밖에서는 진행중인 트랜지션이 없는 것으로 보고 0 을 돌려준다.
+     */
+    @Test
+    public void findTransitionIndexOnEdges() {
+        TransitionTimeline timeline = makeTimeline();
+
+        assertEquals(0, timeline.findTransitionIndex(-1));
+        assertEquals(0, timeline.findTransitionIndex(0));
+        assertEquals(0, timeline.findTransitionIndex(100));
+        assertEquals(0, timeline.findTransitionIndex(300));
+        assertEquals(0, timeline.findTransitionIndex(301));
+    }
+
+    /**
+     * seekTo 에서 쓰는 탐색은 트랜지션의 시작 시점을 그 트랜지션에 포함시키고 길이 0 인 트랜지션은 건너뛴다.
+     */
+    @Test
+    public void getTransitionIndexAtIncludesStartBoundary() {
+        TransitionTimeline timeline = makeTimeline();
+
+        assertEquals(0, timeline.getTransitionIndexAt(0));
+        assertEquals(0, timeline.getTransitionIndexAt(99));
+        assertEquals(2, timeline.getTransitionIndexAt(100));
+        assertEquals(2, timeline.getTransitionIndexAt(299));
+    }
+
+    @Test
+    public void getTransitionIndexAtClampsOutOfRange() {
+        TransitionTimeline timeline = makeTimeline();
+
+        assertEquals(0, timeline.getTransitionIndexAt(-1));
+        assertEquals(2, timeline.getTransitionIndexAt(300));
+        assertEquals(2, timeline.getTransitionIndexAt(Long.MAX_VALUE));
+        assertEquals(0, new TransitionTimeline(new long[0], 0, INTERVAL).getTransitionIndexAt(50));
+    }
+
+    @Test
+    public void activeKeysMatchIsInTransition() {
+        assertActiveKeysMatch(makeTimeline());
+        assertActiveKeysMatch(new TransitionTimeline(DURATIONS, INITIAL_DELAY, 0));
+    }
+
+    @Test
+    public void noActiveKeysBeforeFirstViewStarts() {
+        TransitionTimeline timeline = makeTimeline();
+
+        assertTrue(timeline.getFirstActiveKey(INITIAL_DELAY) > timeline.getLastActiveKey(INITIAL_DELAY));
+    }
+
+    private static void assertActiveKeysMatch(TransitionTimeline timeline) {
+        for (long timePast = -20; timePast < 1500; timePast += 5) {
+            int firstKey = timeline.getFirstActiveKey(timePast);
+            int lastKey = timeline.getLastActiveKey(timePast);
+            for (int key = 0; key < 30; key++) {
+                boolean inRange = key >= firstKey && key <= lastKey;
+                assertEquals("timePast " + timePast + " key " + key,
+                        timeline.isInTransition(key, timePast), inRange);
+            }
+        }
+    }
+}
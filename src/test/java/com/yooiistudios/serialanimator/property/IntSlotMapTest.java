@@ -0,0 +1,150 @@
+package com.yooiistudios.serialanimator.property;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntSlotMapTest {
+    // IntSlotMap 의 초기 용량
+    private static final int INITIAL_CAPACITY = 16;
+
+    @Test
+    public void putAndGet() {
+        IntSlotMap map = new IntSlotMap();
+
+        assertEquals(IntSlotMap.NO_SLOT, map.put(3, 30));
+        assertEquals(IntSlotMap.NO_SLOT, map.put(-7, 70));
+        assertEquals(2, map.size());
+        assertEquals(30, map.get(3));
+        assertEquals(70, map.get(-7));
+        assertEquals(IntSlotMap.NO_SLOT, map.get(4));
+    }
+
+    @Test
+    public void putReplacesSlotOfSameKey() {
+        IntSlotMap map = new IntSlotMap();
+        map.put(3, 30);
+
+        assertEquals(30, map.put(3, 31));
+        assertEquals(1, map.size());
+        assertEquals(31, map.get(3));
+    }
+
+    @Test
+    public void remove() {
+        IntSlotMap map = new IntSlotMap();
+        map.put(1, 10);
+        map.put(2, 20);
+
+        assertEquals(10, map.remove(1));
+        assertEquals(IntSlotMap.NO_SLOT, map.remove(1));
+        assertEquals(1, map.size());
+        assertEquals(IntSlotMap.NO_SLOT, map.get(1));
+        assertEquals(20, map.get(2));
+    }
+
+    /**
+     * 테이블 끝에서 시작해 앞쪽으로 넘어간 클러스터에서 지워도 뒤의 항목을 찾을 수 있어야 한다.
+     */
+    @Test
+    public void removeFromClusterWrappingAround() {
+        int[] keys = findKeysWithHome(INITIAL_CAPACITY - 1, 3);
+        int keyAtZero = findKeysWithHome(0, 1)[0];
+        IntSlotMap map = new IntSlotMap();
+        // 15, 0, 1 칸을 차지한 뒤 0 이 home 인 key 는 2 칸으로 밀린다.
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        map.put(keyAtZero, 100);
+
+        assertEquals(0, map.remove(keys[0]));
+        assertEquals(1, map.get(keys[1]));
+        assertEquals(2, map.get(keys[2]));
+        assertEquals(100, map.get(keyAtZero));
+
+        assertEquals(100, map.remove(keyAtZero));
+        assertEquals(1, map.get(keys[1]));
+        assertEquals(2, map.get(keys[2]));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void resizeKeepsAllEntries() {
+        IntSlotMap map = new IntSlotMap();
+        for (int key = 0; key < 1000; key++) {
+            map.put(key, key + 1);
+        }
+
+        assertEquals(1000, map.size());
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(key + 1, map.get(key));
+        }
+    }
+
+    @Test
+    public void ensureCapacityKeepsAllEntries() {
+        IntSlotMap map = new IntSlotMap();
+        map.put(5, 50);
+        map.put(6, 60);
+        map.ensureCapacity(500);
+
+        assertEquals(2, map.size());
+        assertEquals(50, map.get(5));
+        assertEquals(60, map.get(6));
+    }
+
+    @Test
+    public void clear() {
+        IntSlotMap map = new IntSlotMap();
+        map.put(5, 50);
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(IntSlotMap.NO_SLOT, map.get(5));
+        assertEquals(IntSlotMap.NO_SLOT, map.put(5, 51));
+    }
+
+    @Test
+    public void behavesLikeHashMap() {
+        Random random = new Random(42);
+        IntSlotMap map = new IntSlotMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        // key 범위를 좁게 잡아 삽입/덮어쓰기/삭제가 골고루 섞이도록 한다.
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(512) - 256;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed != null ? removed : IntSlotMap.NO_SLOT, map.remove(key));
+            } else {
+                int slot = random.nextInt(1000);
+                Integer previous = expected.put(key, slot);
+                assertEquals(previous != null ? previous : IntSlotMap.NO_SLOT, map.put(key, slot));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -256; key < 256; key++) {
+            Integer slot = expected.get(key);
+            assertEquals(slot != null ? slot : IntSlotMap.NO_SLOT, map.get(key));
+        }
+    }
+
+    /**
+     * 초기 용량의 테이블에서 home 칸이 index 인 key 를 count 개 찾는다. IntSlotMap 의 해시와 같아야 한다.
+     */
+    private static int[] findKeysWithHome(int index, int count) {
+        int[] keys = new int[count];
+        int found = 0;
+        for (int key = 0; found < count; key++) {
+            int h = key * 0x9E3779B9;
+            if (((h ^ (h >>> 16)) & (INITIAL_CAPACITY - 1)) == index) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
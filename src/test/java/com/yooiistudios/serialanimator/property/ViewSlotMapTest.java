@@ -0,0 +1,204 @@
+package com.yooiistudios.serialanimator.property;
+
+import android.view.View;
+
+import org.junit.Test;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class ViewSlotMapTest {
+    // ViewSlotMap 의 초기 용량
+    private static final int INITIAL_CAPACITY = 16;
+
+    @Test
+    public void putAndGet() {
+        ViewSlotMap map = new ViewSlotMap();
+        View first = new View(null);
+        View second = new View(null);
+
+        assertEquals(ViewSlotMap.NO_SLOT, map.put(first, 1));
+        assertEquals(ViewSlotMap.NO_SLOT, map.put(second, 2));
+        assertEquals(2, map.size());
+        assertEquals(1, map.get(first));
+        assertEquals(2, map.get(second));
+        assertEquals(ViewSlotMap.NO_SLOT, map.get(new View(null)));
+    }
+
+    @Test
+    public void putReplacesSlotOfSameView() {
+        ViewSlotMap map = new ViewSlotMap();
+        View view = new View(null);
+        map.put(view, 1);
+
+        assertEquals(1, map.put(view, 3));
+        assertEquals(1, map.size());
+        assertEquals(3, map.get(view));
+    }
+
+    @Test
+    public void remove() {
+        ViewSlotMap map = new ViewSlotMap();
+        View first = new View(null);
+        View second = new View(null);
+        map.put(first, 1);
+        map.put(second, 2);
+
+        assertEquals(1, map.remove(first));
+        assertEquals(ViewSlotMap.NO_SLOT, map.remove(first));
+        assertEquals(1, map.size());
+        assertEquals(ViewSlotMap.NO_SLOT, map.get(first));
+        assertEquals(2, map.get(second));
+    }
+
+    /**
+     * 테이블 끝에서 시작해 앞쪽으로 넘어간 클러스터에서 지워도 뒤의 항목을 찾을 수 있어야 한다.
+     */
+    @Test
+    public void removeFromClusterWrappingAround() {
+        List<View> views = findViewsWithHome(INITIAL_CAPACITY - 1, 3);
+        View viewAtZero = findViewsWithHome(0, 1).get(0);
+        ViewSlotMap map = new ViewSlotMap();
+        for (int i = 0; i < views.size(); i++) {
+            map.put(views.get(i), i);
+        }
+        map.put(viewAtZero, 100);
+
+        assertEquals(0, map.remove(views.get(0)));
+        assertEquals(1, map.get(views.get(1)));
+        assertEquals(2, map.get(views.get(2)));
+        assertEquals(100, map.get(viewAtZero));
+
+        assertEquals(100, map.remove(viewAtZero));
+        assertEquals(1, map.get(views.get(1)));
+        assertEquals(2, map.get(views.get(2)));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void resizeKeepsAllEntries() {
+        ViewSlotMap map = new ViewSlotMap();
+        List<View> views = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            View view = new View(null);
+            views.add(view);
+            map.put(view, i);
+        }
+
+        assertEquals(1000, map.size());
+        for (int i = 0; i < views.size(); i++) {
+            assertEquals(i, map.get(views.get(i)));
+        }
+    }
+
+    @Test
+    public void ensureCapacityKeepsAllEntries() {
+        ViewSlotMap map = new ViewSlotMap();
+        View first = new View(null);
+        View second = new View(null);
+        map.put(first, 1);
+        map.put(second, 2);
+        map.ensureCapacity(500);
+
+        assertEquals(2, map.size());
+        assertEquals(1, map.get(first));
+        assertEquals(2, map.get(second));
+    }
+
+    @Test
+    public void clear() {
+        ViewSlotMap map = new ViewSlotMap();
+        View view = new View(null);
+        map.put(view, 1);
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(ViewSlotMap.NO_SLOT, map.get(view));
+    }
+
+    @Test
+    public void putAndRemoveByReference() {
+        ReferenceQueue<View> queue = new ReferenceQueue<>();
+        ViewSlotMap map = new ViewSlotMap();
+        View view = new View(null);
+        ViewReference reference = new ViewReference(view, 1, queue);
+
+        assertEquals(ViewSlotMap.NO_SLOT, map.put(reference, 1));
+        assertEquals(1, map.get(view));
+        assertEquals(1, map.remove(reference));
+        assertEquals(0, map.size());
+    }
+
+    /**
+     * 뷰가 수거된 항목도 reference 로 지울 수 있고, 같은 클러스터의 다른 항목은 그대로 찾을 수 있어야 한다.
+     */
+    @Test
+    public void removeClearedReference() {
+        ReferenceQueue<View> queue = new ReferenceQueue<>();
+        ViewSlotMap map = new ViewSlotMap();
+        List<View> views = findViewsWithHome(3, 3);
+        List<ViewReference> references = new ArrayList<>();
+        for (int i = 0; i < views.size(); i++) {
+            ViewReference reference = new ViewReference(views.get(i), i, queue);
+            references.add(reference);
+            map.put(reference, i);
+        }
+        references.get(0).clear();
+        // 수거된 항목이 다시 해시될 때에도 제자리를 찾아야 한다.
+        map.ensureCapacity(100);
+
+        assertEquals(0, map.remove(references.get(0)));
+        assertEquals(1, map.get(views.get(1)));
+        assertEquals(2, map.get(views.get(2)));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void behavesLikeIdentityHashMap() {
+        Random random = new Random(42);
+        View[] views = new View[512];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = new View(null);
+        }
+        ViewSlotMap map = new ViewSlotMap();
+        Map<View, Integer> expected = new IdentityHashMap<>();
+
+        for (int i = 0; i < 100000; i++) {
+            View view = views[random.nextInt(views.length)];
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(view);
+                assertEquals(removed != null ? removed : ViewSlotMap.NO_SLOT, map.remove(view));
+            } else {
+                int slot = random.nextInt(1000);
+                Integer previous = expected.put(view, slot);
+                assertEquals(previous != null ? previous : ViewSlotMap.NO_SLOT, map.put(view, slot));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (View view : views) {
+            Integer slot = expected.get(view);
+            assertEquals(slot != null ? slot : ViewSlotMap.NO_SLOT, map.get(view));
+        }
+    }
+
+    /**
+     * 초기 용량의 테이블에서 home 칸이 index 인 뷰를 count 개 만든다. ViewSlotMap 의 해시와 같아야 한다.
+     */
+    private static List<View> findViewsWithHome(int index, int count) {
+        List<View> views = new ArrayList<>();
+        while (views.size() < count) {
+            View view = new View(null);
+            int h = System.identityHashCode(view) * 0x9E3779B9;
+            if (((h ^ (h >>> 16)) & (INITIAL_CAPACITY - 1)) == index) {
+                views.add(view);
+            }
+        }
+        return views;
+    }
+}
@@ -0,0 +1,144 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TransitionQueueTest {
+    @Test
+    public void emptyQueue() {
+        TransitionQueue queue = new TransitionQueue();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(Long.MAX_VALUE, queue.peekDueTime());
+        assertFalse(queue.pollDue(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void pollsInDueTimeOrder() {
+        TransitionQueue queue = new TransitionQueue();
+        queue.offer(0, 0, 300);
+        queue.offer(1, 0, 100);
+        queue.offer(2, 0, 200);
+
+        assertEquals(100, queue.peekDueTime());
+        assertPolled(queue, 1, 0);
+        assertPolled(queue, 2, 0);
+        assertPolled(queue, 0, 0);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void pollsOnlyDueTransitions() {
+        TransitionQueue queue = new TransitionQueue();
+        queue.offer(0, 7, 100);
+
+        assertFalse(queue.pollDue(99));
+        assertTrue(queue.pollDue(100));
+        assertEquals(0, queue.getPolledSlot());
+        assertEquals(7, queue.getPolledGeneration());
+    }
+
+    @Test
+    public void pollsSameDueTimeInOfferOrder() {
+        TransitionQueue queue = new TransitionQueue();
+        int[] slots = {5, 3, 8, 1, 9, 0, 2};
+        for (int slot : slots) {
+            queue.offer(slot, 0, 100);
+        }
+
+        for (int slot : slots) {
+            assertPolled(queue, slot, 0);
+        }
+    }
+
+    @Test
+    public void keepsHeapOrderWhileGrowing() {
+        Random random = new Random(42);
+        TransitionQueue queue = new TransitionQueue();
+        for (int slot = 0; slot < 1000; slot++) {
+            queue.offer(slot, 0, random.nextInt(500));
+        }
+
+        long previousDueTime = Long.MIN_VALUE;
+        int count = 0;
+        while (!queue.isEmpty()) {
+            long dueTime = queue.peekDueTime();
+            assertTrue(dueTime >= previousDueTime);
+            assertTrue(queue.pollDue(dueTime));
+            previousDueTime = dueTime;
+            count++;
+        }
+        assertEquals(1000, count);
+    }
+
+    @Test
+    public void cancelDropsTransitionOfSlot() {
+        TransitionQueue queue = new TransitionQueue();
+        queue.offer(0, 0, 100);
+        queue.offer(1, 0, 200);
+        queue.cancel(0);
+
+        assertEquals(200, queue.peekDueTime());
+        assertPolled(queue, 1, 0);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void cancelUnknownSlotIsIgnored() {
+        TransitionQueue queue = new TransitionQueue();
+        queue.cancel(1000);
+        queue.offer(0, 0, 100);
+
+        assertPolled(queue, 0, 0);
+    }
+
+    /**
+     * 같은 slot 을 다시 예약하면 이전 예약은 취소된다.
+     */
+    @Test
+    public void offerReplacesPreviousTransitionOfSlot() {
+        TransitionQueue queue = new TransitionQueue();
+        queue.offer(0, 1, 100);
+        queue.offer(0, 2, 300);
+
+        assertEquals(300, queue.peekDueTime());
+        assertPolled(queue, 0, 2);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void offerAfterCancelIsValid() {
+        TransitionQueue queue = new TransitionQueue();
+        queue.offer(0, 1, 100);
+        queue.cancel(0);
+        queue.offer(0, 2, 200);
+
+        assertPolled(queue, 0, 2);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void clearDropsAllTransitions() {
+        TransitionQueue queue = new TransitionQueue();
+        queue.offer(0, 0, 100);
+        queue.offer(1, 0, 200);
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+
+        queue.offer(1, 1, 50);
+        assertPolled(queue, 1, 1);
+        assertTrue(queue.isEmpty());
+    }
+
+    private static void assertPolled(TransitionQueue queue, int slot, int generation) {
+        assertTrue(queue.pollDue(Long.MAX_VALUE));
+        assertEquals(slot, queue.getPolledSlot());
+        assertEquals(generation, queue.getPolledGeneration());
+    }
+}
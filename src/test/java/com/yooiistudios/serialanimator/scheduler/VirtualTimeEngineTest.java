@@ -0,0 +1,89 @@
+package com.yooiistudios.serialanimator.scheduler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VirtualTimeEngineTest {
+    private final List<String> mEvents = new ArrayList<>();
+
+    private VirtualTimeEngine makeEngine(long startTime) {
+        final VirtualTimeEngine engine = new VirtualTimeEngine(startTime);
+        engine.setCallback(new TransitionScheduler.Callback() {
+            @Override
+            public void onTransitionDue(int slot, int generation) {
+                mEvents.add("start " + slot + "@" + engine.uptimeMillis());
+            }
+        });
+        engine.setAnimationCallback(new VirtualTimeEngine.AnimationCallback() {
+            @Override
+            public void onAnimationDue(int slot, int generation) {
+                mEvents.add("end " + slot + "@" + engine.uptimeMillis());
+            }
+        });
+        return engine;
+    }
+
+    @Test
+    public void advanceRunsDueEventsAtTheirTime() {
+        VirtualTimeEngine engine = makeEngine(1000);
+        engine.schedule(0, 0, 50);
+        engine.schedule(1, 0, 150);
+
+        engine.advanceBy(100);
+
+        assertEquals(1100, engine.uptimeMillis());
+        assertEquals(1, mEvents.size());
+        assertEquals("start 0@1050", mEvents.get(0));
+        assertEquals(1, engine.getDispatchCount());
+    }
+
+    /**
+     * 같은 시간에 예정된 경우 애니메이션 종료를 트랜지션 시작보다 먼저 처리한다.
+     */
+    @Test
+    public void animationEndRunsBeforeTransitionStartAtSameTime() {
+        VirtualTimeEngine engine = makeEngine(0);
+        engine.schedule(0, 0, 100);
+        engine.scheduleAnimationEnd(1, 0, 100);
+
+        engine.runUntilIdle();
+
+        assertEquals("end 1@100", mEvents.get(0));
+        assertEquals("start 0@100", mEvents.get(1));
+        assertTrue(engine.isIdle());
+    }
+
+    @Test
+    public void negativeDelayRunsNow() {
+        VirtualTimeEngine engine = makeEngine(500);
+        engine.schedule(0, 0, -100);
+
+        engine.advanceBy(0);
+
+        assertEquals("start 0@500", mEvents.get(0));
+    }
+
+    @Test
+    public void cancelledEventsAreNotDispatched() {
+        VirtualTimeEngine engine = makeEngine(0);
+        engine.schedule(0, 0, 100);
+        engine.scheduleAnimationEnd(1, 0, 100);
+        engine.schedule(2, 0, 100);
+        engine.cancel(0);
+        engine.cancelAnimationEnd(1);
+
+        engine.runUntilIdle();
+
+        assertEquals(1, mEvents.size());
+        assertEquals("start 2@100", mEvents.get(0));
+
+        engine.schedule(3, 0, 10);
+        engine.cancelAll();
+        assertTrue(engine.isIdle());
+    }
+}